@@ -0,0 +1,48 @@
+#!/bin/bash
+
+# Checks that feature extraction is unchanged: counts the features of the training songs of each fold
+# (as run-folds.sh does with -countFeatures) and compares them with the feature_count files in
+# sample_output_files/. Run it after changing the features (e.g. the SegmentFeature registry).
+# The counts are taken over the gold segmentation of the training songs, so the lattice options do not
+# change them. The songs are read from their XML files; check-loaders.sh compares the other ways of
+# loading them, on the unlabeled networks.
+
+# first argument - starting fold (default 1)
+# second argument - ending fold (default 10)
+
+JAVA=java
+JAVAC=javac
+# XOM uses the JDK's own Xerces, which Java 9 and later only open with these options
+JAVAOPTS="--add-exports java.xml/com.sun.org.apache.xerces.internal.parsers=ALL-UNNAMED --add-exports java.xml/com.sun.org.apache.xerces.internal.util=ALL-UNNAMED"
+ROOT=$PWD
+STARTINGFOLD=${1:-1}
+ENDINGFOLD=${2:-10}
+WORK=$(mktemp -d)
+trap 'rm -rf $WORK' EXIT
+
+mkdir $WORK/classes
+if ! $JAVAC -nowarn -d $WORK/classes -cp "$ROOT/lib/*" $ROOT/src/cr/*.java > $WORK/javac.txt 2>&1; then
+	cat $WORK/javac.txt
+	exit 1
+fi
+
+status=0
+for fold in $(seq $STARTINGFOLD $ENDINGFOLD);
+do
+	# the fold files list the songs where they were generated, so point them at bach/ here
+	sed "s|.*/bach/|$ROOT/bach/|" $ROOT/folds/train${fold}.txt > $WORK/train${fold}.txt
+	(cd $WORK && $JAVA $JAVAOPTS -classpath "$WORK/classes:$ROOT/lib/*" cr.CRMain -foldsPath $WORK/ -foldNum $fold -simplify generic_added_notes -normalizeEnharmonics -countFeatures -useAllChords -useAllChordsPath $ROOT/bach_dataset_chords.txt &> output-c-${fold}.txt)
+	if [ ! -s $WORK/feature_count${fold}.txt ]; then
+		echo "Fold $fold: no feature counts"
+		tail -20 $WORK/output-c-${fold}.txt
+		status=1
+	elif diff $ROOT/sample_output_files/feature_count${fold}.txt $WORK/feature_count${fold}.txt > $WORK/diff.txt; then
+		echo "Fold $fold: same feature counts"
+	else
+		head -20 $WORK/diff.txt
+		echo "Fold $fold: feature counts differ from sample_output_files/feature_count${fold}.txt"
+		status=1
+	fi
+done
+
+exit $status
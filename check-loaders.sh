@@ -0,0 +1,104 @@
+#!/bin/bash
+
+# Checks that every way of loading songs gives the same model: trains CRMain on the first training
+# songs of a fold once per loader (XOM, -streamXML, -corpusPath, -songArchive, -songCache when the
+# entries are written and when they are read) and compares the objectives of every iteration, then
+# trains on the MusicXML scores in musicxml_parser/test/ and on their events files in bach/ and
+# compares those. Unlike check-feature-counts.sh this goes through the unlabeled networks, where the
+# loaders have differed (notes sharing a pitch string). LoaderCheck and MusicXMLReader then compare
+# the features edge by edge, with all the chord labels.
+
+# first argument - fold whose training songs are used (default 1)
+# second argument - number of songs (default 3)
+
+JAVA=java
+JAVAC=javac
+# XOM uses the JDK's own Xerces, which Java 9 and later only open with these options
+JAVAOPTS="--add-exports java.xml/com.sun.org.apache.xerces.internal.parsers=ALL-UNNAMED --add-exports java.xml/com.sun.org.apache.xerces.internal.util=ALL-UNNAMED"
+ROOT=$PWD
+FOLD=${1:-1}
+NUMSONGS=${2:-3}
+WORK=$(mktemp -d)
+trap 'rm -rf $WORK' EXIT
+
+mkdir $WORK/classes
+if ! $JAVAC -nowarn -d $WORK/classes -cp "$ROOT/lib/*" $ROOT/src/cr/*.java > $WORK/javac.txt 2>&1; then
+	cat $WORK/javac.txt
+	exit 1
+fi
+RUN="$JAVA $JAVAOPTS -classpath $WORK/classes:$ROOT/lib/*"
+
+# the fold files list the songs where they were generated, so point them at bach/ here
+sed "s|.*/bach/|$ROOT/bach/|" $ROOT/folds/train${FOLD}.txt | head -$NUMSONGS > $WORK/songs.txt
+printf "$ROOT/bach/000206b_annotated_events.xml\n$ROOT/bach/001707b_annotated_events.xml\n" > $WORK/events.txt
+printf "$ROOT/musicxml_parser/test/000206b.musicxml\n$ROOT/musicxml_parser/test/001707b.musicxml\n" > $WORK/scores.txt
+$RUN cr.SongCorpus $WORK/corpus.bin $WORK/songs.txt > $WORK/corpus.txt 2>&1
+$RUN cr.SongArchive $WORK/songs.gz $WORK/songs.txt > $WORK/archive.txt 2>&1
+
+# count the features of the songs listed in $2 into $WORK/$1/, read from their files
+count() {
+	mkdir $WORK/$1
+	cp $2 $WORK/$1/train1.txt
+	(cd $WORK/$1 && $RUN cr.CRMain -foldsPath $WORK/$1/ -foldNum 1 -simplify generic_added_notes -normalizeEnharmonics -countFeatures -useAllChords -useAllChordsPath $ROOT/bach_dataset_chords.txt &> output-c.txt)
+}
+
+# train on the songs listed in $2 with the feature counts in $WORK/$3/ and the options after them,
+# writing the objectives to $WORK/$1.txt; the counts are shared so that only training loads the songs
+train() {
+	local name=$1
+	local songs=$2
+	local counts=$3
+	shift 3
+	mkdir $WORK/$name
+	cp $songs $WORK/$name/train1.txt
+	head -1 $songs > $WORK/$name/test1.txt
+	cp $WORK/$counts/feature_count1.txt $WORK/$name/
+	(cd $WORK/$name && $RUN cr.CRMain -foldsPath $WORK/$name/ -foldNum 1 -simplify generic_added_notes -normalizeEnharmonics -useAllChords -useAllChordsPath $ROOT/bach_dataset_chords.txt "$@" &> output-e.txt)
+	grep "^Iteration [0-9]*: Obj=" $WORK/$name/output-e.txt | sed "s| Time=.*||" > $WORK/$name.txt
+}
+
+status=0
+# compare the objectives of $1 with those of $2
+compare() {
+	if [ ! -s $WORK/$2.txt ]; then
+		echo "$2: no objectives"
+		tail -20 $WORK/$2/output-e.txt
+		status=1
+	elif diff $WORK/$2.txt $WORK/$1.txt > $WORK/diff.txt; then
+		echo "$1: same objectives as $2 ($(wc -l < $WORK/$2.txt) iterations)"
+	else
+		head -20 $WORK/diff.txt
+		echo "$1: objectives differ from $2"
+		status=1
+	fi
+}
+
+count songs-counts $WORK/songs.txt
+count events-counts $WORK/events.txt
+train xom $WORK/songs.txt songs-counts
+train stax $WORK/songs.txt songs-counts -streamXML
+train corpus $WORK/songs.txt songs-counts -corpusPath $WORK/corpus.bin
+train archive $WORK/songs.txt songs-counts -songArchive $WORK/songs.gz
+train cache-written $WORK/songs.txt songs-counts -songCache $WORK/cache
+train cache-read $WORK/songs.txt songs-counts -songCache $WORK/cache
+train events $WORK/events.txt events-counts
+train scores $WORK/scores.txt events-counts
+for name in stax corpus archive cache-written cache-read; do
+	compare $name xom
+done
+compare scores events
+
+if ! $RUN cr.LoaderCheck -useAllChordsPath $ROOT/bach_dataset_chords.txt $WORK/songs.txt > $WORK/loader-check.txt 2>&1; then
+	grep -v "^Capacity\|^Max size\|^\[" $WORK/loader-check.txt | tail -20
+	status=1
+fi
+tail -1 $WORK/loader-check.txt
+for song in 000206b 001707b; do
+	if ! $RUN cr.MusicXMLReader $ROOT/musicxml_parser/test/$song.musicxml $ROOT/bach/${song}_annotated_events.xml $ROOT/bach_dataset_chords.txt > $WORK/musicxml.txt 2>&1; then
+		grep -v "^Capacity\|^Max size\|^\[" $WORK/musicxml.txt | tail -20
+		status=1
+	fi
+	echo "$song: $(tail -1 $WORK/musicxml.txt)"
+done
+
+exit $status
@@ -0,0 +1,160 @@
+package cr;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A logistic model of whether a chord segment starts at an event, used to only put BEGIN nodes at
+ * plausible chord changes<br>
+ * The features compare each event with the previous one: its accent, whether it starts a measure,
+ * whether the bass changes, how much the pitch-class set changes and the share of notes that start
+ * there. The threshold is set so that the given share of the gold segment starts of the training
+ * songs are kept. The first event always starts a segment, and no stretch without a candidate is
+ * longer than the maximum gap asked for.
+ */
+public class BoundaryModel implements Serializable {
+
+	private static final long serialVersionUID = -3190824557261930476L;
+
+	private static final int NUM_FEATURES = 6;
+	private static final int NUM_ITERATIONS = 500;
+	private static final double LEARNING_RATE = 0.5;
+	private static final double L2 = 1e-3;
+
+	private final double[] weights;
+	private final double threshold;
+
+	private BoundaryModel(double[] weights, double threshold) {
+		this.weights = weights;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Fits the model on the gold segment starts of the songs
+	 * @param recall share of the gold segment starts (after the first event) that must be candidates
+	 */
+	public static BoundaryModel train(List<Song> songs, double recall) {
+		List<double[]> examples = new ArrayList<double[]>();
+		List<Boolean> isBoundary = new ArrayList<Boolean>();
+		for(Song song : songs) {
+			SongColumns columns = song.getColumns();
+			boolean[] starts = new boolean[columns.numEvents()];
+			for(Span span : song.output) {
+				starts[span.start] = true;
+			}
+			for(int e = 1; e < columns.numEvents(); e++) {
+				examples.add(features(columns, e));
+				isBoundary.add(starts[e]);
+			}
+		}
+
+		// batch gradient descent on the log loss
+		double[] weights = new double[NUM_FEATURES];
+		double[] gradient = new double[NUM_FEATURES];
+		for(int iteration = 0; iteration < NUM_ITERATIONS; iteration++) {
+			Arrays.fill(gradient, 0.0);
+			for(int i = 0; i < examples.size(); i++) {
+				double[] x = examples.get(i);
+				double error = sigmoid(dot(weights, x)) - (isBoundary.get(i) ? 1.0 : 0.0);
+				for(int f = 0; f < NUM_FEATURES; f++) {
+					gradient[f] += error * x[f];
+				}
+			}
+			for(int f = 0; f < NUM_FEATURES; f++) {
+				weights[f] -= LEARNING_RATE * (gradient[f] / Math.max(examples.size(), 1) + L2 * weights[f]);
+			}
+		}
+
+		// lowest score that keeps the requested share of gold boundaries
+		List<Double> boundaryScores = new ArrayList<Double>();
+		for(int i = 0; i < examples.size(); i++) {
+			if(isBoundary.get(i)) {
+				boundaryScores.add(dot(weights, examples.get(i)));
+			}
+		}
+		Collections.sort(boundaryScores);
+		double threshold = Double.NEGATIVE_INFINITY;
+		int numDropped = (int)Math.floor((1.0 - recall) * boundaryScores.size());
+		if(numDropped > 0 && numDropped < boundaryScores.size()) {
+			threshold = boundaryScores.get(numDropped);
+		}
+		return new BoundaryModel(weights, threshold);
+	}
+
+	/**
+	 * @param maxGap an event is a candidate if the previous maxGap events are not
+	 * @return whether each event of the song may start a segment
+	 */
+	public boolean[] findBoundaries(SongColumns columns, int maxGap) {
+		boolean[] boundaries = new boolean[columns.numEvents()];
+		int lastBoundary = 0;
+		for(int e = 0; e < boundaries.length; e++) {
+			boundaries[e] = e == 0 || e - lastBoundary >= maxGap || dot(weights, features(columns, e)) >= threshold;
+			if(boundaries[e]) {
+				lastBoundary = e;
+			}
+		}
+		return boundaries;
+	}
+
+	private static double[] features(SongColumns columns, int e) {
+		double[] x = new double[NUM_FEATURES];
+		x[0] = 1.0;
+		x[1] = columns.getEventAccent(e);
+		x[2] = columns.getEventMeasureNumber(e) != columns.getEventMeasureNumber(e - 1) ? 1.0 : 0.0;
+		x[3] = bass(columns, e) != bass(columns, e - 1) ? 1.0 : 0.0;
+		int pitchClasses = pitchClasses(columns, e);
+		int previousPitchClasses = pitchClasses(columns, e - 1);
+		x[4] = (double)Integer.bitCount(pitchClasses ^ previousPitchClasses) / Math.max(Integer.bitCount(pitchClasses | previousPitchClasses), 1);
+		int numNotes = columns.getEndNote(e) - columns.getFirstNote(e);
+		int numStarting = 0;
+		for(int n = columns.getFirstNote(e); n < columns.getEndNote(e); n++) {
+			if(!columns.isFromPrevious(n)) {
+				numStarting++;
+			}
+		}
+		x[5] = (double)numStarting / Math.max(numNotes, 1);
+		return x;
+	}
+
+	// semitone of the lowest note of the event, -1 if it has none
+	private static int bass(SongColumns columns, int e) {
+		int bass = -1;
+		for(int n = columns.getFirstNote(e); n < columns.getEndNote(e); n++) {
+			if(columns.getSemitone(n) >= 0 && (bass < 0 || columns.getSemitone(n) < bass)) {
+				bass = columns.getSemitone(n);
+			}
+		}
+		return bass;
+	}
+
+	private static int pitchClasses(SongColumns columns, int e) {
+		int pitchClasses = 0;
+		for(int n = columns.getFirstNote(e); n < columns.getEndNote(e); n++) {
+			if(columns.getPitchClass(n) >= 0) {
+				pitchClasses |= 1 << columns.getPitchClass(n);
+			}
+		}
+		return pitchClasses;
+	}
+
+	private static double dot(double[] weights, double[] x) {
+		double sum = 0.0;
+		for(int f = 0; f < x.length; f++) {
+			sum += weights[f] * x[f];
+		}
+		return sum;
+	}
+
+	private static double sigmoid(double z) {
+		return 1.0 / (1.0 + Math.exp(-z));
+	}
+
+	public String toString() {
+		return String.format("Boundary model weights: %s, threshold: %.4f", Arrays.toString(weights), threshold);
+	}
+
+}
@@ -88,6 +88,9 @@ public class CRMain {
 		boolean serializeModel = true;
 		int maxLength = 955;					// maximum song length
 		int maxSegmentLength = 20;				// maximum segment length
+		double segmentLengthPercentile = 0;		// if positive, each label's maximum segment length is this percentile of its training segment lengths
+		int segmentLengthSlack = 0;				// added to each label's maximum segment length
+		double boundaryRecall = 0;				// if positive, segments only start where a boundary model keeping this share of training segment starts allows
 		int numExamplesPrinted = 20;
 		int totalNumEvents = 0;
 		int totalNumSegments = 0;
@@ -206,6 +209,66 @@ public class CRMain {
 						useAllChords = true;
 						argIndex += 1;
 						break;
+					case "streamXML":
+						SongUtil.streamXML = true;
+						argIndex += 1;
+						break;
+					case "parallelLoad":
+						SongUtil.parallelLoad = true;
+						argIndex += 1;
+						break;
+					case "corpusPath":
+						SongUtil.corpusPath = args[argIndex+1];
+						argIndex += 2;
+						break;
+					case "musicXML":
+						SongUtil.musicXML = true;
+						argIndex += 1;
+						break;
+					case "songArchive":
+						SongUtil.songArchivePath = args[argIndex+1];
+						argIndex += 2;
+						break;
+					case "songCache":
+						SongUtil.songCacheDir = args[argIndex+1];
+						argIndex += 2;
+						break;
+					case "latticeBucketSize":
+						WordWeakSemiCRFNetworkCompiler.latticeBucketSize = Integer.parseInt(args[argIndex+1]);
+						argIndex += 2;
+						break;
+					case "latticePath":
+						WordWeakSemiCRFNetworkCompiler.latticePath = args[argIndex+1];
+						argIndex += 2;
+						break;
+					case "implicitLattice":
+						WordWeakSemiCRFNetworkCompiler.implicitLattice = true;
+						argIndex += 1;
+						break;
+					case "candidateLabels":
+						WordWeakSemiCRFNetworkCompiler.numCandidateLabels = Integer.parseInt(args[argIndex+1]);
+						argIndex += 2;
+						break;
+					case "minCandidateScore":
+						WordWeakSemiCRFNetworkCompiler.minCandidateScore = Double.parseDouble(args[argIndex+1]);
+						argIndex += 2;
+						break;
+					case "segmentLengthPercentile":
+						segmentLengthPercentile = Double.parseDouble(args[argIndex+1]);
+						argIndex += 2;
+						break;
+					case "segmentLengthSlack":
+						segmentLengthSlack = Integer.parseInt(args[argIndex+1]);
+						argIndex += 2;
+						break;
+					case "boundaryRecall":
+						boundaryRecall = Double.parseDouble(args[argIndex+1]);
+						argIndex += 2;
+						break;
+					case "transitionHubs":
+						WordWeakSemiCRFNetworkCompiler.transitionHubs = true;
+						argIndex += 1;
+						break;
 					case "-":
 						moreArgs = Arrays.copyOfRange(args, argIndex+1, args.length);
 						argIndex = args.length;
@@ -306,10 +369,19 @@ public class CRMain {
 			
 			print("Read..."+size+" instances.", true, outstream, System.err);
 
-			compiler = new WordWeakSemiCRFNetworkCompiler(labels, maxLength, maxSegmentLength);
+			int[] labelMaxSegmentLengths = null;
+			if(segmentLengthPercentile > 0) {
+				labelMaxSegmentLengths = WordWeakSemiCRFNetworkCompiler.findLabelMaxSegmentLengths(labels, trainInstancesList, maxSegmentLength, segmentLengthPercentile, segmentLengthSlack);
+			}
+			BoundaryModel boundaryModel = null;
+			if(boundaryRecall > 0) {
+				boundaryModel = BoundaryModel.train(trainInstancesList, boundaryRecall);
+			}
+			compiler = new WordWeakSemiCRFNetworkCompiler(labels, maxLength, maxSegmentLength, labelMaxSegmentLengths, boundaryModel);
 			
 			if(countFeatures) {
 				fm = new WordWeakSemiCRFFeatureManager(new GlobalNetworkParam(), features, countFeatures, featureCountPath, moreArgs);
+				((WordWeakSemiCRFNetworkCompiler)compiler).setFeatureManager(fm);
 				List<Integer> counts = new ArrayList<Integer>(Collections.nCopies(10000, 0));
 				
 				for(Instance trainInstance : trainInstances) {
@@ -342,8 +414,13 @@ public class CRMain {
 			}
 			else {
 				fm = new WordWeakSemiCRFFeatureManager(new GlobalNetworkParam(), features, countFeatures, featureCountPath, moreArgs);
+				((WordWeakSemiCRFNetworkCompiler)compiler).setFeatureManager(fm);
 				model = NetworkConfig.TRAIN_MODE_IS_GENERATIVE ? GenerativeNetworkModel.create(fm, compiler) : DiscriminativeNetworkModel.create(fm, compiler);
 				model.train(trainInstances, maxNumIterations);
+				String candidateRecall = ((WordWeakSemiCRFNetworkCompiler)compiler).getCandidateRecall();
+				if(candidateRecall != null) {
+					print("Training " + candidateRecall, true, outstream, System.out);
+				}
 				
 				if(serializeModel) {
 					print("Writing object...", false, outstream, System.out);
@@ -373,9 +450,10 @@ public class CRMain {
 					List<?> labelsUsed = new ArrayList<Object>();
 			
 					labelsUsed = Arrays.asList(((WordWeakSemiCRFNetworkCompiler)compiler).labels);
+					int[] labelSpans = ((WordWeakSemiCRFNetworkCompiler)compiler).labelMaxSegmentLengths;
 		
-					for(Object obj: labelsUsed){
-						modelTextWriter.println(obj);
+					for(int labelIdx = 0; labelIdx < labelsUsed.size(); labelIdx++){
+						modelTextWriter.println(labelSpans == null ? labelsUsed.get(labelIdx) : labelsUsed.get(labelIdx) + " max span: " + labelSpans[labelIdx]);
 					}
 					GlobalNetworkParam paramG = fm.getParam_G();
 					modelTextWriter.println("Num features: "+paramG.countFeatures());
@@ -408,6 +486,7 @@ public class CRMain {
 			Field _compiler = NetworkModel.class.getDeclaredField("_compiler");
 			_compiler.setAccessible(true);
 			compiler = (NetworkCompiler)_compiler.get(model);
+			((WordWeakSemiCRFNetworkCompiler)compiler).setFeatureManager(fm);
 
 			long endTime = System.currentTimeMillis();
 			print(String.format("Done in %.3fs", (endTime-startTime)/1000.0), true, outstream, System.out);
@@ -419,6 +498,10 @@ public class CRMain {
 			Instance[] predictions = null;
 			
 			predictions = model.decode(testInstances);
+			String candidateRecall = ((WordWeakSemiCRFNetworkCompiler)compiler).getCandidateRecall();
+			if(candidateRecall != null) {
+				print("Test " + candidateRecall, true, outstream, System.out);
+			}
 			
 			List<Song> predictionsList = new ArrayList<Song>();
 			for(Instance instance: predictions){
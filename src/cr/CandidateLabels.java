@@ -0,0 +1,98 @@
+package cr;
+
+/**
+ * The labels kept for every segment of a song when the unlabeled lattice is pruned<br>
+ * A label is scored by the fraction of the segment's note duration (counting the notes of
+ * getNotesInSegment: all notes of the first event and the notes starting in the later ones) whose
+ * pitch class is in the chord. For each segment the numCandidates best labels are kept if they score
+ * at least minScore, the best one always. Labels without chord notes (such as "O") are always kept.
+ */
+public class CandidateLabels {
+
+	private static final int NUM_PITCH_CLASSES = 12;
+
+	private final int maxSegmentLength;
+	// [start][end - start][label index in the compiler's labels]
+	private final boolean[][][] kept;
+
+	/**
+	 * @param chordMasks pitch classes of each label (the ChordNotes mask of its ChordTemplate, 0 if the label has no root)
+	 */
+	public CandidateLabels(int[] chordMasks, SongColumns columns, int maxSegmentLength, int numCandidates, double minScore) {
+		this.maxSegmentLength = maxSegmentLength;
+		int numLabels = chordMasks.length;
+		int size = columns.numEvents();
+
+		// duration of every note of an event, and prefix sums of the duration of the notes starting in each event
+		double[][] eventWeights = new double[size][NUM_PITCH_CLASSES];
+		double[][] startingWeights = new double[size + 1][NUM_PITCH_CLASSES];
+		for(int e = 0; e < size; e++) {
+			System.arraycopy(startingWeights[e], 0, startingWeights[e + 1], 0, NUM_PITCH_CLASSES);
+			for(int n = columns.getFirstNote(e); n < columns.getEndNote(e); n++) {
+				int pitchClass = columns.getPitchClass(n);
+				if(pitchClass < 0) {
+					continue;
+				}
+				eventWeights[e][pitchClass] += columns.getNoteDuration(n);
+				if(!columns.isFromPrevious(n)) {
+					startingWeights[e + 1][pitchClass] += columns.getNoteDuration(n);
+				}
+			}
+		}
+
+		kept = new boolean[size][][];
+		double[] weights = new double[NUM_PITCH_CLASSES];
+		double[] scores = new double[numLabels];
+		boolean[] chosen = new boolean[numLabels];
+		for(int start = 0; start < size; start++) {
+			int numEnds = Math.min(maxSegmentLength, size - start);
+			kept[start] = new boolean[numEnds][numLabels];
+			for(int end = start; end < start + numEnds; end++) {
+				double total = 0.0;
+				for(int pc = 0; pc < NUM_PITCH_CLASSES; pc++) {
+					weights[pc] = eventWeights[start][pc] + startingWeights[end + 1][pc] - startingWeights[start + 1][pc];
+					total += weights[pc];
+				}
+				for(int label = 0; label < numLabels; label++) {
+					double inChord = 0.0;
+					for(int pc = 0; pc < NUM_PITCH_CLASSES; pc++) {
+						if((chordMasks[label] & (1 << pc)) != 0) {
+							inChord += weights[pc];
+						}
+					}
+					scores[label] = total > 0.0 ? inChord / total : 0.0;
+					chosen[label] = false;
+				}
+
+				boolean[] keptLabels = kept[start][end - start];
+				for(int rank = 0; rank < numCandidates; rank++) {
+					int best = -1;
+					for(int label = 0; label < numLabels; label++) {
+						if(!chosen[label] && chordMasks[label] != 0 && (best < 0 || scores[label] > scores[best])) {
+							best = label;
+						}
+					}
+					if(best < 0 || (rank > 0 && scores[best] < minScore)) {
+						break;
+					}
+					chosen[best] = true;
+					keptLabels[best] = true;
+				}
+				for(int label = 0; label < numLabels; label++) {
+					if(chordMasks[label] == 0) {
+						keptLabels[label] = true;
+					}
+				}
+			}
+		}
+	}
+
+	public boolean isKept(int start, int end, int label) {
+		return end - start < maxSegmentLength && kept[start][end - start][label];
+	}
+
+	public void keep(int start, int end, int label) {
+		kept[start][end - start][label] = true;
+	}
+
+}
@@ -0,0 +1,78 @@
+package cr;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * The pitch classes of a chord, in interval order (root, third, fifth, then the added notes), with a
+ * 12-bit mask of the same pitch classes (bit i set for pitch class i)<br>
+ * It is still the List<Integer> that getChordNotes used to return, so code that reads an interval by
+ * its index keeps working, but the checks that run for every note of a segment and every label test
+ * a bit of the mask instead of searching the list with Integer.equals.
+ */
+public class ChordNotes extends AbstractList<Integer> {
+
+	public static final int NUM_PITCH_CLASSES = 12;
+
+	private final int[] notes;
+	private final int mask;
+
+	public ChordNotes(List<Integer> pitchClasses) {
+		notes = new int[pitchClasses.size()];
+		int mask = 0;
+		for(int i = 0; i < notes.length; i++) {
+			notes[i] = pitchClasses.get(i);
+			mask |= pitchClassBit(notes[i]);
+		}
+		this.mask = mask;
+	}
+
+	/**
+	 * @return the bit of this pitch class in a mask, or 0 for a note without a pitch class
+	 */
+	public static int pitchClassBit(int pitchClass) {
+		return (pitchClass >= 0 && pitchClass < NUM_PITCH_CLASSES) ? 1 << pitchClass : 0;
+	}
+
+	/**
+	 * @return the mask of the pitch classes of these notes
+	 */
+	public static int maskOf(List<Note> notes) {
+		int mask = 0;
+		for(Note note : notes) {
+			mask |= pitchClassBit(note.pitchClass);
+		}
+		return mask;
+	}
+
+	public int getMask() {
+		return mask;
+	}
+
+	public boolean containsPitchClass(int pitchClass) {
+		return (mask & pitchClassBit(pitchClass)) != 0;
+	}
+
+	/**
+	 * @return the bit of the note at this interval (0 is the root), or 0 if the chord has no such interval
+	 */
+	public int intervalBit(int interval) {
+		return (interval >= 0 && interval < notes.length) ? pitchClassBit(notes[interval]) : 0;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return (o instanceof Integer) && containsPitchClass((Integer)o);
+	}
+
+	@Override
+	public Integer get(int index) {
+		return notes[index];
+	}
+
+	@Override
+	public int size() {
+		return notes.length;
+	}
+
+}
@@ -0,0 +1,82 @@
+package cr;
+
+import cr.CRMain.Simplify;
+
+/**
+ * What the feature manager reads from the form of a chord label (root, mode, added note, chord notes
+ * and chord class), worked out once per {@link SpanLabel} instead of with regular expressions on every
+ * edge<br>
+ * The templates are kept in an array indexed by label ID. SongUtil.addAllLabels adds the templates of
+ * the labels it registers; labels registered in any other way get theirs on first use. The chord notes
+ * depend on CRMain.simplification, so the table is built again if the simplification changes.
+ */
+public final class ChordTemplate {
+
+	private static volatile ChordTemplate[] templates = new ChordTemplate[0];
+	private static volatile Simplify templateSimplification;
+
+	public final int labelId;
+	public final String form;
+	public final String root;
+	public final int rootPitchClass;	// -1 if the label has no root
+	public final String mode;
+	public final String addedNote;
+	public final ChordNotes notes;		// null if the label has no root
+	public final boolean isAug6;
+	public final boolean isFrOrGer;
+	public final boolean isSusOrPow;
+	public final boolean isSus;
+	public final boolean isPow;
+	public final boolean is7sus4;
+	public final boolean isReg;
+
+	private ChordTemplate(SpanLabel label) {
+		labelId = label.id;
+		form = label.form;
+		root = WordWeakSemiCRFFeatureManager.getRoot(form);
+		Integer rootId = WordWeakSemiCRFFeatureManager.enharmonicNotesToID.get(root);
+		rootPitchClass = (rootId == null) ? -1 : rootId;
+		mode = WordWeakSemiCRFFeatureManager.getMode(form);
+		addedNote = WordWeakSemiCRFFeatureManager.getAddedNote(form);
+		notes = (rootId == null) ? null : WordWeakSemiCRFFeatureManager.getChordNotes(root, mode, addedNote);
+		isAug6 = WordWeakSemiCRFFeatureManager.isAug6Chord(form);
+		isFrOrGer = WordWeakSemiCRFFeatureManager.isFrOrGerChord(form);
+		isSusOrPow = WordWeakSemiCRFFeatureManager.isSusOrPowChord(form);
+		isSus = WordWeakSemiCRFFeatureManager.isSusChord(form);
+		isPow = WordWeakSemiCRFFeatureManager.isPowChord(form);
+		is7sus4 = mode.equals("7sus4");
+		isReg = !isAug6 && !isSusOrPow;
+	}
+
+	/**
+	 * @return the template of the label with this ID
+	 */
+	public static ChordTemplate get(int labelId) {
+		ChordTemplate[] table = templates;
+		if(labelId < table.length && templateSimplification == CRMain.simplification) {
+			return table[labelId];
+		}
+		return update()[labelId];
+	}
+
+	/**
+	 * Adds the templates of the labels registered since the last call (and builds the whole table again
+	 * if the simplification changed)
+	 */
+	public static synchronized ChordTemplate[] update() {
+		int numLabels = SpanLabel.LABELS_INDEX.size();
+		if(templates.length == numLabels && templateSimplification == CRMain.simplification) {
+			return templates;
+		}
+		int first = (templateSimplification == CRMain.simplification) ? templates.length : 0;
+		ChordTemplate[] table = new ChordTemplate[numLabels];
+		System.arraycopy(templates, 0, table, 0, first);
+		for(int labelId = first; labelId < numLabels; labelId++) {
+			table[labelId] = new ChordTemplate(SpanLabel.get(labelId));
+		}
+		templateSimplification = CRMain.simplification;
+		templates = table;
+		return table;
+	}
+
+}
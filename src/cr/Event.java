@@ -2,6 +2,11 @@ package cr;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import nu.xom.Element;
 import nu.xom.Elements;
@@ -28,7 +33,14 @@ public class Event {
 		this.notes = notes;
 	}
 	
-	public static Event parseXML(Element element, Event previousEvent) {
+	/**
+	 * Parse an event, resolving the onsets of its tied (fromPrevious) notes from the notes of the event
+	 * before it.<br>
+	 * notesByPitch is filled with the last note of each pitch as the notes are read (the note a tied note
+	 * continues), to be passed as previousNotes to the parse of the next event.
+	 * @param previousNotes the notesByPitch of the previous event, or null for the first event
+	 */
+	public static Event parseXML(Element element, Map<String, Note> previousNotes, Map<String, Note> notesByPitch) {
 		Event event = new Event();
 		
 		event.onset = Double.parseDouble(element.getFirstChildElement("onset").getValue());
@@ -38,7 +50,9 @@ public class Event {
 		
 		Elements notes = element.getFirstChildElement("notes").getChildElements();
 		for (int i = 0; i < notes.size(); i++) {
-			event.notes.add(Note.parseXML(notes.get(i), previousEvent));
+			Note note = Note.parseXML(notes.get(i), previousNotes);
+			event.notes.add(note);
+			notesByPitch.put(note.pitch, note);
 		}
 		
 //		System.out.println(event.toString());
@@ -46,6 +60,45 @@ public class Event {
 		return event;
 	}
 	
+	/**
+	 * Streaming version of {@link #parseXML(Element, Map, Map)}; the tag of the event is added to tags
+	 */
+	public static Event parseXML(XMLStreamReader reader, Map<String, Note> previousNotes, Map<String, Note> notesByPitch, List<String> tags) throws XMLStreamException {
+		Event event = new Event();
+		
+		// reader starts on <event> and finishes on </event>
+		while(reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			switch(reader.getLocalName()) {
+			case "tag":
+				tags.add(reader.getElementText().trim());
+				break;
+			case "onset":
+				event.onset = Double.parseDouble(reader.getElementText());
+				break;
+			case "duration":
+				event.duration = Double.parseDouble(reader.getElementText());
+				break;
+			case "measureNumber":
+				event.measureNumber = Integer.parseInt(reader.getElementText());
+				break;
+			case "accent":
+				event.accent = Double.parseDouble(reader.getElementText());
+				break;
+			case "notes":
+				while(reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+					Note note = Note.parseXML(reader, previousNotes);
+					event.notes.add(note);
+					notesByPitch.put(note.pitch, note);
+				}
+				break;
+			default:
+				SongUtil.skipElement(reader);
+			}
+		}
+		
+		return event;
+	}
+	
 	public String toString() {
 		String text = new String("Event:\n"
 				+ "- Onset: " + this.onset + "\n"
@@ -0,0 +1,246 @@
+package cr;
+
+import java.util.Arrays;
+
+import com.statnlp.commons.types.Instance;
+import com.statnlp.hybridnetworks.FeatureArray;
+import com.statnlp.hybridnetworks.LocalNetworkParam;
+
+import cr.WordWeakSemiCRFNetworkCompiler.NodeType;
+
+/**
+ * An unlabeled network where the BEGIN nodes of a position share one HUB node whose children are
+ * the END nodes of the previous event, so a position has 2K transition edges instead of K*K<br>
+ * The transition features only depend on the two labels, so they are extracted once per label pair
+ * into a dense table, and the inside, outside, gradient and max computations of a BEGIN node go
+ * through its hub to the END nodes using the scores of that table. Hub nodes themselves are never
+ * scored. The result is the same as with a BEGIN to END edge for every label pair.
+ */
+public class HubSongNetwork extends SongNetwork {
+
+	private static final long serialVersionUID = 4127470263617402258L;
+
+	// extracts the transition features, the same one the rest of the network is extracted by
+	private transient WordWeakSemiCRFFeatureManager fm;
+
+	// label ID of each node (-1 for leaf and root), and whether it is a hub or a BEGIN node under a hub
+	private transient int[] labelIds;
+	private transient boolean[] isHub;
+	private transient boolean[] isHubBegin;
+	// [parent label ID][child label ID]
+	private transient FeatureArray[][] transitions;
+	private transient double[][] transitionScores;
+	private transient double[][] transitionCounts;
+
+	public HubSongNetwork(int networkId, Instance inst, LocalNetworkParam param, WordWeakSemiCRFFeatureManager fm) {
+		super(networkId, inst, param);
+		this.fm = fm;
+	}
+
+	public HubSongNetwork(int networkId, Instance inst, long[] nodes, int[][][] children, LocalNetworkParam param, WordWeakSemiCRFFeatureManager fm, LatticeLayout layout, int numNodes) {
+		super(networkId, inst, nodes, children, param, layout, numNodes);
+		this.fm = fm;
+	}
+
+	public HubSongNetwork(int networkId, Instance inst, LatticeFile lattice, LocalNetworkParam param, WordWeakSemiCRFFeatureManager fm, LatticeLayout layout, int numNodes) {
+		super(networkId, inst, lattice, param, layout, numNodes);
+		this.fm = fm;
+	}
+
+	private void indexNodes() {
+		if(labelIds != null) {
+			return;
+		}
+		int numNodes = countNodes();
+		labelIds = new int[numNodes];
+		isHub = new boolean[numNodes];
+		isHubBegin = new boolean[numNodes];
+		for(int k = 0; k < numNodes; k++) {
+			int[] node = getNodeArray(k);
+			labelIds[k] = node[2] - 1;
+			isHub[k] = node[1] == NodeType.HUB.ordinal();
+		}
+		for(int k = 0; k < numNodes; k++) {
+			int[][] children = getChildren(k);
+			isHubBegin[k] = !isHub[k] && children.length == 1 && children[0].length == 1 && isHub[children[0][0]];
+		}
+	}
+
+	/**
+	 * Extracts the transition features of every label pair that occurs under a hub
+	 */
+	private void extractTransitions() {
+		indexNodes();
+		if(transitions != null) {
+			return;
+		}
+		int maxLabelId = 0;
+		for(int labelId : labelIds) {
+			maxLabelId = Math.max(maxLabelId, labelId);
+		}
+		transitions = new FeatureArray[maxLabelId + 1][maxLabelId + 1];
+		transitionScores = new double[maxLabelId + 1][maxLabelId + 1];
+		transitionCounts = new double[maxLabelId + 1][maxLabelId + 1];
+		for(int k = 0; k < countNodes(); k++) {
+			if(!isHubBegin[k]) {
+				continue;
+			}
+			for(int[] end : getChildren(getChildren(k)[0][0])) {
+				int parentLabelId = labelIds[k];
+				int childLabelId = labelIds[end[0]];
+				if(transitions[parentLabelId][childLabelId] == null) {
+					FeatureArray fa = fm.extractTransition(parentLabelId, childLabelId);
+					transitions[parentLabelId][childLabelId] = _param.isGlobalMode() ? fa : fa.toLocal(_param);
+				}
+			}
+		}
+	}
+
+	// scores under the current weights, once per pass instead of once per edge
+	private void scoreTransitions() {
+		extractTransitions();
+		for(int parent = 0; parent < transitions.length; parent++) {
+			for(int child = 0; child < transitions.length; child++) {
+				if(transitions[parent][child] != null) {
+					transitionScores[parent][child] = transitions[parent][child].getScore(_param);
+				}
+			}
+		}
+	}
+
+	@Override
+	protected void inside() {
+		scoreTransitions();
+		super.inside();
+	}
+
+	@Override
+	protected void inside(int k) {
+		if(isHub[k]) {
+			_inside[k] = 0.0;
+			return;
+		}
+		if(!isHubBegin[k]) {
+			super.inside(k);
+			return;
+		}
+		double[] scores = transitionScores[labelIds[k]];
+		double inside = Double.NEGATIVE_INFINITY;
+		boolean first = true;
+		for(int[] end : getChildren(getChildren(k)[0][0])) {
+			double score = scores[labelIds[end[0]]] + _inside[end[0]];
+			if(first) {
+				inside = score;
+				first = false;
+			} else if(inside == score && score == Double.NEGATIVE_INFINITY) {
+				inside = Double.NEGATIVE_INFINITY;
+			} else if(inside == score && score == Double.POSITIVE_INFINITY) {
+				inside = Double.POSITIVE_INFINITY;
+			} else if(inside > score) {
+				inside = Math.log1p(Math.exp(score - inside)) + inside;
+			} else {
+				inside = Math.log1p(Math.exp(inside - score)) + score;
+			}
+		}
+		_inside[k] = inside;
+	}
+
+	@Override
+	protected void outside(int k) {
+		if(isHub[k]) {
+			return;
+		}
+		if(!isHubBegin[k]) {
+			super.outside(k);
+			return;
+		}
+		if(_inside[k] == Double.NEGATIVE_INFINITY) {
+			_outside[k] = Double.NEGATIVE_INFINITY;
+		}
+		double[] scores = transitionScores[labelIds[k]];
+		for(int[] end : getChildren(getChildren(k)[0][0])) {
+			int child = end[0];
+			double score = scores[labelIds[child]] + _outside[k] + _inside[child];
+			if(score == Double.NEGATIVE_INFINITY) {
+				continue;
+			}
+			double v1 = _outside[child];
+			double v2 = score - _inside[child];
+			if(v1 > v2) {
+				_outside[child] = v1 + Math.log1p(Math.exp(v2 - v1));
+			} else {
+				_outside[child] = v2 + Math.log1p(Math.exp(v1 - v2));
+			}
+		}
+	}
+
+	@Override
+	protected void updateInsideOutside() {
+		for(double[] counts : transitionCounts) {
+			Arrays.fill(counts, 0.0);
+		}
+		super.updateInsideOutside();
+		for(int parent = 0; parent < transitions.length; parent++) {
+			for(int child = 0; child < transitions.length; child++) {
+				if(transitions[parent][child] != null && transitionCounts[parent][child] != 0.0) {
+					transitions[parent][child].update(_param, transitionCounts[parent][child]);
+				}
+			}
+		}
+	}
+
+	@Override
+	protected void updateInsideOutside(int k) {
+		if(isHub[k]) {
+			return;
+		}
+		if(!isHubBegin[k]) {
+			super.updateInsideOutside(k);
+			return;
+		}
+		int parentLabelId = labelIds[k];
+		double[] scores = transitionScores[parentLabelId];
+		for(int[] end : getChildren(getChildren(k)[0][0])) {
+			int childLabelId = labelIds[end[0]];
+			double score = scores[childLabelId] + _outside[k] + _inside[end[0]];
+			transitionCounts[parentLabelId][childLabelId] += Math.exp(score - getInside()) * _weight;
+		}
+	}
+
+	@Override
+	protected void touch(int k) {
+		extractTransitions();
+		if(isHub[k] || isHubBegin[k]) {
+			return;
+		}
+		super.touch(k);
+	}
+
+	@Override
+	public void max() {
+		scoreTransitions();
+		super.max();
+	}
+
+	@Override
+	protected void max(int k) {
+		if(isHub[k]) {
+			_max[k] = 0.0;
+			return;
+		}
+		if(!isHubBegin[k]) {
+			super.max(k);
+			return;
+		}
+		double[] scores = transitionScores[labelIds[k]];
+		_max[k] = Double.NEGATIVE_INFINITY;
+		for(int[] end : getChildren(getChildren(k)[0][0])) {
+			double max = scores[labelIds[end[0]]] + _max[end[0]];
+			if(max >= _max[k]) {
+				_max[k] = max;
+				_max_paths[k] = end;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,70 @@
+package cr;
+
+import com.statnlp.commons.types.Instance;
+import com.statnlp.hybridnetworks.LocalNetworkParam;
+
+/**
+ * An unlabeled network whose nodes and children are computed from (position, node type, label) when
+ * they are asked for, so no node or edge arrays are stored<br>
+ * Node k is the k-th smallest node ID of the lattice built by {@link WordWeakSemiCRFNetworkCompiler}
+ * (see {@link LatticeLayout}) and the children come in the same order, so training and decoding see
+ * exactly the same network.
+ */
+public class ImplicitSongNetwork extends SongNetwork {
+
+	private static final long serialVersionUID = 2380914507463720631L;
+
+	private final int numLabels;
+	// maximum segment length of each label, in node ID order
+	private final int[] maxSegmentLengths;
+	// position of each label among the nodes of a position, in the order of the compiler's labels
+	private final int[] labelRanks;
+
+	/**
+	 * @param labelMaxSegmentLengths maximum segment length of each label, or null to use maxSegmentLength for all
+	 */
+	public ImplicitSongNetwork(int networkId, Instance inst, SpanLabel[] labels, LatticeLayout layout, int[] labelMaxSegmentLengths, int maxSegmentLength, LocalNetworkParam param) {
+		super(networkId, inst, null, null, param, layout, layout.countNodes(((Song)inst).getInputTokenized().size()));
+		numLabels = labels.length;
+		labelRanks = new int[numLabels];
+		maxSegmentLengths = new int[numLabels];
+		for(int i = 0; i < numLabels; i++) {
+			labelRanks[i] = layout.getLabelRank(i);
+			maxSegmentLengths[labelRanks[i]] = labelMaxSegmentLengths == null ? maxSegmentLength : labelMaxSegmentLengths[i];
+		}
+	}
+
+	@Override
+	public long getNode(int k) {
+		return layout.getNode(k);
+	}
+
+	@Override
+	public int[][] getChildren(int k) {
+		if(k == 0) {
+			return new int[1][0];
+		}
+		int pos = k / layout.nodesPerPosition() + 1;
+		int offset = k % layout.nodesPerPosition();
+		if(offset == 0 || offset <= numLabels) {
+			// root and begin nodes: every end node of the previous event (a begin node of the first event follows the leaf)
+			if(pos == 1) {
+				return new int[][]{{0}};
+			}
+			int[][] children = new int[numLabels][];
+			for(int i = 0; i < numLabels; i++) {
+				children[i] = new int[]{layout.endIndex(pos - 2, labelRanks[i])};
+			}
+			return children;
+		}
+		// end node: the begin nodes of the same label up to maxSegmentLength events back, nearest first
+		int rank = offset - 1 - numLabels;
+		int numChildren = Math.min(pos, maxSegmentLengths[rank]);
+		int[][] children = new int[numChildren][];
+		for(int i = 0; i < numChildren; i++) {
+			children[i] = new int[]{layout.beginIndex(pos - 1 - i, rank)};
+		}
+		return children;
+	}
+
+}
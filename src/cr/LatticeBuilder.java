@@ -0,0 +1,141 @@
+package cr;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.statnlp.hybridnetworks.NetworkConfig;
+
+/**
+ * Builds the full unlabeled lattice of {@link WordWeakSemiCRFNetworkCompiler} straight into its node
+ * and children arrays<br>
+ * The index of every node is known from {@link LatticeLayout}, so the positions are filled in
+ * independently on NetworkConfig._numThreads threads, without adding nodes and edges to a network
+ * and sorting them. Edges that are the same for many nodes share one array: the begin nodes (and the
+ * root) after an event all have the end nodes of that event as children, and each begin node is the
+ * child of the end nodes of its label up to the maximum segment length later. The result is the same
+ * as building the lattice through a network with finalizeNetwork.
+ */
+public class LatticeBuilder {
+
+	// positions per task, so that small lattices are not split into many tasks
+	private static final int POSITIONS_PER_TASK = 16;
+
+	private final LatticeLayout layout;
+	private final int[] labelRanks;
+	private final int[] maxSegmentLengths;
+	private final int length;
+	private final long[] nodes;
+	private final int[][][] children;
+	// [pos]: the end nodes of pos in label order, as the children of the nodes after it
+	private final int[][][] endEdges;
+	// [pos][rank]: the begin node of pos with the label of this rank, as a child of an end node
+	private final int[][][] beginEdges;
+
+	/**
+	 * @param maxSegmentLengths maximum segment length of each label (same order as labels)
+	 * @param length number of events of the lattice
+	 */
+	public LatticeBuilder(SpanLabel[] labels, int[] maxSegmentLengths, LatticeLayout layout, int length) {
+		this.layout = layout;
+		this.maxSegmentLengths = maxSegmentLengths;
+		this.length = length;
+		labelRanks = new int[labels.length];
+		for(int labelIdx = 0; labelIdx < labels.length; labelIdx++) {
+			labelRanks[labelIdx] = layout.getLabelRank(labelIdx);
+		}
+		nodes = new long[layout.countNodes(length)];
+		children = new int[nodes.length][][];
+		endEdges = new int[length][][];
+		beginEdges = new int[length][][];
+		build();
+	}
+
+	public long[] getNodes() {
+		return nodes;
+	}
+
+	public int[][][] getChildren() {
+		return children;
+	}
+
+	private void build() {
+		for(int pos = 0; pos < length; pos++) {
+			endEdges[pos] = new int[labelRanks.length][];
+			beginEdges[pos] = new int[labelRanks.length][];
+			for(int labelIdx = 0; labelIdx < labelRanks.length; labelIdx++) {
+				endEdges[pos][labelIdx] = new int[]{layout.endIndex(pos, labelRanks[labelIdx])};
+				beginEdges[pos][labelRanks[labelIdx]] = new int[]{layout.beginIndex(pos, labelRanks[labelIdx])};
+			}
+		}
+		nodes[0] = layout.getNode(0);
+		children[0] = new int[1][0];
+
+		int numThreads = Math.max(1, Math.min(NetworkConfig._numThreads, (length + POSITIONS_PER_TASK - 1) / POSITIONS_PER_TASK));
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		try {
+			List<Future<?>> tasks = new ArrayList<Future<?>>();
+			for(int start = 0; start < length; start += POSITIONS_PER_TASK) {
+				final int first = start;
+				final int last = Math.min(start + POSITIONS_PER_TASK, length);
+				tasks.add(pool.submit(() -> {
+					for(int pos = first; pos < last; pos++) {
+						buildPosition(pos);
+					}
+				}));
+			}
+			for(Future<?> task : tasks) {
+				task.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Fills in the begin, end and hub nodes of pos and the root over the events up to pos
+	 */
+	private void buildPosition(int pos) {
+		int[][] beginChildren;
+		if(pos == 0) {
+			beginChildren = new int[][]{{0}};
+		} else if(layout.hasHubs()) {
+			beginChildren = new int[][]{{layout.hubIndex(pos - 1)}};
+		} else {
+			beginChildren = endEdges[pos - 1];
+		}
+		for(int labelIdx = 0; labelIdx < labelRanks.length; labelIdx++) {
+			int rank = labelRanks[labelIdx];
+			int begin = layout.beginIndex(pos, rank);
+			nodes[begin] = layout.getNode(begin);
+			children[begin] = beginChildren;
+
+			// the begin nodes of the same label up to the maximum segment length back, nearest first
+			int end = layout.endIndex(pos, rank);
+			int numChildren = Math.min(pos + 1, maxSegmentLengths[labelIdx]);
+			int[][] endChildren = new int[numChildren][];
+			for(int i = 0; i < numChildren; i++) {
+				endChildren[i] = beginEdges[pos - i][rank];
+			}
+			nodes[end] = layout.getNode(end);
+			children[end] = endChildren;
+		}
+		if(layout.hasHubs()) {
+			int hub = layout.hubIndex(pos);
+			nodes[hub] = layout.getNode(hub);
+			children[hub] = endEdges[pos];
+		}
+		int root = layout.rootIndex(pos + 1);
+		nodes[root] = layout.getNode(root);
+		children[root] = endEdges[pos];
+	}
+
+}
@@ -0,0 +1,199 @@
+package cr;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * The unlabeled lattice of {@link WordWeakSemiCRFNetworkCompiler} stored in a flat file<br>
+ * The file holds the node IDs, then the children as offsets into flat int arrays (the edges of each
+ * node, then the child indices of each edge), after a header describing what the lattice was built
+ * for: maxLength, maxSegmentLength, the label IDs with their maximum segment lengths, whether it has
+ * hub nodes and the NetworkIDMapper capacity. The file is memory-mapped read-only and the children of
+ * a node are read from it when they are asked for, so runs on the same host (such as the folds of a
+ * cross-validation) share one copy of the lattice in the page cache.
+ */
+public class LatticeFile {
+
+	private static final int MAGIC = 0x43524C54;		// "CRLT"
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 48;
+
+	private final MappedByteBuffer buffer;
+	private final int maxLength;
+	private final int maxSegmentLength;
+	private final boolean hasHubs;
+	private final int[] capacity;
+	private final int[] labelIds;
+	private final int[] labelMaxSegmentLengths;
+	private final int numNodes;
+	private final int nodesOffset;
+	private final int edgeStartsOffset;
+	private final int childStartsOffset;
+	private final int childIndicesOffset;
+
+	private LatticeFile(MappedByteBuffer buffer) throws IOException {
+		this.buffer = buffer;
+		if(buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+			throw new IOException("Not a lattice file (or written by another version)");
+		}
+		maxLength = buffer.getInt(8);
+		maxSegmentLength = buffer.getInt(12);
+		hasHubs = buffer.getInt(16) != 0;
+		int numLabels = buffer.getInt(20);
+		numNodes = buffer.getInt(24);
+		int numEdges = buffer.getInt(28);
+		capacity = new int[]{buffer.getInt(32), buffer.getInt(36), buffer.getInt(40)};
+
+		labelIds = new int[numLabels];
+		labelMaxSegmentLengths = new int[numLabels];
+		int position = HEADER_SIZE;
+		for(int i = 0; i < numLabels; i++) {
+			labelIds[i] = buffer.getInt(position);
+			labelMaxSegmentLengths[i] = buffer.getInt(position + 4);
+			position += 8;
+		}
+		nodesOffset = position;
+		edgeStartsOffset = nodesOffset + 8 * numNodes;
+		childStartsOffset = edgeStartsOffset + 4 * (numNodes + 1);
+		childIndicesOffset = childStartsOffset + 4 * (numEdges + 1);
+	}
+
+	/**
+	 * Memory-map a lattice file written by {@link #write(long[], int[][][], int, int, SpanLabel[], int[], boolean, int[], String)}
+	 */
+	public static LatticeFile open(String filename) throws IOException {
+		RandomAccessFile file = new RandomAccessFile(filename, "r");
+		try {
+			FileChannel channel = file.getChannel();
+			if(channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Lattice file is too large to be mapped: " + filename);
+			}
+			return new LatticeFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		} finally {
+			file.close();
+		}
+	}
+
+	/**
+	 * Write the lattice to a temporary file next to filename and then move it there, so runs that open
+	 * the file at the same time never see it half written
+	 * @param labelMaxSegmentLengths maximum segment length of each label (same order as labels)
+	 */
+	public static void write(long[] nodes, int[][][] children, int maxLength, int maxSegmentLength, SpanLabel[] labels,
+			int[] labelMaxSegmentLengths, boolean hasHubs, int[] capacity, String filename) throws IOException {
+		int numEdges = 0;
+		int numChildIndices = 0;
+		for(int[][] edges : children) {
+			numEdges += edges.length;
+			for(int[] edge : edges) {
+				numChildIndices += edge.length;
+			}
+		}
+		long size = HEADER_SIZE + 8L * labels.length + 8L * nodes.length + 4L * (nodes.length + 1) + 4L * (numEdges + 1) + 4L * numChildIndices;
+		if(size > Integer.MAX_VALUE) {
+			throw new IOException("Lattice is too large to be written to one file: " + size + " bytes");
+		}
+
+		File target = new File(filename).getAbsoluteFile();
+		File temp = File.createTempFile(target.getName(), ".tmp", target.getParentFile());
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+		try {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(maxLength);
+			out.writeInt(maxSegmentLength);
+			out.writeInt(hasHubs ? 1 : 0);
+			out.writeInt(labels.length);
+			out.writeInt(nodes.length);
+			out.writeInt(numEdges);
+			for(int i = 0; i < 3; i++) {
+				out.writeInt(capacity[i]);
+			}
+			out.writeInt(0);
+			for(int i = 0; i < labels.length; i++) {
+				out.writeInt(labels[i].id);
+				out.writeInt(labelMaxSegmentLengths[i]);
+			}
+			for(long node : nodes) {
+				out.writeLong(node);
+			}
+			int edgeStart = 0;
+			for(int[][] edges : children) {
+				out.writeInt(edgeStart);
+				edgeStart += edges.length;
+			}
+			out.writeInt(edgeStart);
+			int childStart = 0;
+			for(int[][] edges : children) {
+				for(int[] edge : edges) {
+					out.writeInt(childStart);
+					childStart += edge.length;
+				}
+			}
+			out.writeInt(childStart);
+			for(int[][] edges : children) {
+				for(int[] edge : edges) {
+					for(int child : edge) {
+						out.writeInt(child);
+					}
+				}
+			}
+			out.close();
+			Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			out.close();
+			temp.delete();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return whether the lattice was built for these settings (and can be used instead of building one)
+	 */
+	public boolean isFor(int maxLength, int maxSegmentLength, SpanLabel[] labels, int[] labelMaxSegmentLengths, boolean hasHubs, int[] capacity) {
+		if(this.maxLength != maxLength || this.maxSegmentLength != maxSegmentLength || this.hasHubs != hasHubs
+				|| !Arrays.equals(this.capacity, capacity) || labelIds.length != labels.length) {
+			return false;
+		}
+		for(int i = 0; i < labels.length; i++) {
+			if(labelIds[i] != labels[i].id || this.labelMaxSegmentLengths[i] != labelMaxSegmentLengths[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public int countNodes() {
+		return numNodes;
+	}
+
+	public long getNode(int k) {
+		return buffer.getLong(nodesOffset + 8 * k);
+	}
+
+	public int[][] getChildren(int k) {
+		int edgeStart = buffer.getInt(edgeStartsOffset + 4 * k);
+		int edgeEnd = buffer.getInt(edgeStartsOffset + 4 * (k + 1));
+		int[][] children = new int[edgeEnd - edgeStart][];
+		for(int e = edgeStart; e < edgeEnd; e++) {
+			int childStart = buffer.getInt(childStartsOffset + 4 * e);
+			int childEnd = buffer.getInt(childStartsOffset + 4 * (e + 1));
+			int[] edge = new int[childEnd - childStart];
+			for(int c = childStart; c < childEnd; c++) {
+				edge[c - childStart] = buffer.getInt(childIndicesOffset + 4 * c);
+			}
+			children[e - edgeStart] = edge;
+		}
+		return children;
+	}
+
+}
@@ -0,0 +1,107 @@
+package cr;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import com.statnlp.hybridnetworks.NetworkIDMapper;
+
+import cr.WordWeakSemiCRFNetworkCompiler.NodeType;
+
+/**
+ * The index of every node of the full unlabeled lattice built by {@link WordWeakSemiCRFNetworkCompiler},
+ * computed from its (position, node type, label) instead of searched for among the sorted node IDs<br>
+ * With L labels, position p (as in the node ID) holds the root, the L begin nodes, the L end nodes and,
+ * with hubs, the hub node, labels in ID order, starting at index (p-1) times the number of nodes per
+ * position. Position 1 has no root, its slot is taken by the leaf. This is the order of the node IDs,
+ * so the index of a node is the same as in the lattice.
+ */
+public class LatticeLayout implements Serializable {
+
+	private static final long serialVersionUID = -5562190833162427204L;
+
+	private final int numLabels;
+	private final boolean hasHubs;
+	// label IDs in node ID order
+	private final int[] sortedLabelIds;
+	// position in sortedLabelIds of each label, in the order of the compiler's labels
+	private final int[] labelRanks;
+
+	public LatticeLayout(SpanLabel[] labels, boolean hasHubs) {
+		this.numLabels = labels.length;
+		this.hasHubs = hasHubs;
+		sortedLabelIds = new int[numLabels];
+		for(int i = 0; i < numLabels; i++) {
+			sortedLabelIds[i] = labels[i].id;
+		}
+		Arrays.sort(sortedLabelIds);
+		labelRanks = new int[numLabels];
+		for(int i = 0; i < numLabels; i++) {
+			labelRanks[i] = Arrays.binarySearch(sortedLabelIds, labels[i].id);
+		}
+	}
+
+	public boolean hasHubs() {
+		return hasHubs;
+	}
+
+	public int nodesPerPosition() {
+		return 2 * numLabels + 1 + (hasHubs ? 1 : 0);
+	}
+
+	/**
+	 * @return the position of the label with this index in the compiler's labels among the nodes of a position
+	 */
+	public int getLabelRank(int labelIdx) {
+		return labelRanks[labelIdx];
+	}
+
+	/**
+	 * @return the number of nodes of the lattice of a song with this many events, up to its root
+	 */
+	public int countNodes(int size) {
+		return rootIndex(size) + 1;
+	}
+
+	/**
+	 * @return the index of the root over the first size events
+	 */
+	public int rootIndex(int size) {
+		return size * nodesPerPosition();
+	}
+
+	/**
+	 * @param pos event position (0-based, as in the compiler)
+	 */
+	public int beginIndex(int pos, int rank) {
+		return rootIndex(pos) + 1 + rank;
+	}
+
+	public int endIndex(int pos, int rank) {
+		return rootIndex(pos) + 1 + numLabels + rank;
+	}
+
+	public int hubIndex(int pos) {
+		return rootIndex(pos) + 1 + 2 * numLabels;
+	}
+
+	public long getNode(int k) {
+		return NetworkIDMapper.toHybridNodeID(getNodeArray(k));
+	}
+
+	public int[] getNodeArray(int k) {
+		if(k == 0) {
+			return new int[]{0, NodeType.LEAF.ordinal(), 0};
+		}
+		int pos = k / nodesPerPosition() + 1;
+		int offset = k % nodesPerPosition();
+		if(offset == 0) {
+			return new int[]{pos, NodeType.ROOT.ordinal(), 0};
+		} else if(offset <= numLabels) {
+			return new int[]{pos, NodeType.BEGIN.ordinal(), sortedLabelIds[offset - 1] + 1};
+		} else if(offset <= 2 * numLabels) {
+			return new int[]{pos, NodeType.END.ordinal(), sortedLabelIds[offset - 1 - numLabels] + 1};
+		}
+		return new int[]{pos, NodeType.HUB.ordinal(), 0};
+	}
+
+}
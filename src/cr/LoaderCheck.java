@@ -0,0 +1,186 @@
+package cr;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.statnlp.hybridnetworks.FeatureArray;
+import com.statnlp.hybridnetworks.GlobalNetworkParam;
+import com.statnlp.hybridnetworks.LocalNetworkParam;
+import com.statnlp.hybridnetworks.Network;
+
+import cr.CRMain.Simplify;
+
+/**
+ * Checks that every way of loading a song gives the same features<br>
+ * Each song is read from its XML file with XOM (the reference), with StAX, from a packed
+ * {@link SongCorpus} and through a {@link SongCache} (once when the entry is written and once from the
+ * entry), and the features of every edge of its unlabeled network are compared with those
+ * of the XOM song. Comparing fields is not enough: Note.equals compares pitches by identity, so notes
+ * that share a pitch string change which notes the features drop from a segment.<br>
+ * Labels are simplified and normalized as run-folds.sh does (generic_added_notes, -normalizeEnharmonics),
+ * and -useAllChordsPath adds all the labels of a chord labels file, as -useAllChords does; more labels
+ * give more edges to compare.<br>
+ * Usage: java cr.LoaderCheck [-useAllChordsPath &lt;chord labels file&gt;] &lt;fold file or .xml file&gt;...
+ */
+public class LoaderCheck {
+
+	private static final int MAX_PRINTED = 20;		// differences printed per song and loader
+
+	public static void main(String[] args) throws Exception {
+		String useAllChordsPath = null;
+		int firstFile = 0;
+		if(args.length >= 2 && args[0].equals("-useAllChordsPath")) {
+			useAllChordsPath = args[1];
+			firstFile = 2;
+		}
+		if(args.length <= firstFile) {
+			System.err.println("Usage: java cr.LoaderCheck [-useAllChordsPath <chord labels file>] <fold file or .xml file>...");
+			System.exit(1);
+		}
+
+		Set<String> songFiles = new LinkedHashSet<String>();
+		for(String arg : Arrays.asList(args).subList(firstFile, args.length)) {
+			if(arg.endsWith(".xml")) {
+				songFiles.add(arg);
+			}
+			else {
+				BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(arg), "UTF-8"));
+				String line;
+				while((line = br.readLine()) != null) {
+					if(!line.trim().isEmpty()) {
+						songFiles.add(line.trim());
+					}
+				}
+				br.close();
+			}
+		}
+
+		CRMain.simplification = Simplify.GENERIC_ADDED_NOTES;
+		Simplify simplification = CRMain.simplification;
+		boolean normalizeEnharmonics = true;
+
+		File corpusFile = File.createTempFile("loader-check", ".bin");
+		corpusFile.deleteOnExit();
+		SongCorpus.write(new ArrayList<String>(songFiles), corpusFile.getPath());
+		SongCorpus corpus = SongCorpus.open(corpusFile.getPath());
+		File cacheDirectory = Files.createTempDirectory("loader-check").toFile();
+
+		int numDifferent = 0;
+		int instanceId = 1;
+		for(String songFile : songFiles) {
+			SongUtil.streamXML = false;
+			Song xom = SongUtil.readSong(songFile, instanceId, simplification, normalizeEnharmonics);
+			SongUtil.streamXML = true;
+			Song stax = SongUtil.readSong(songFile, instanceId, simplification, normalizeEnharmonics);
+			SongUtil.streamXML = false;
+			Song packed = corpus.getSong(corpus.indexOfFile(songFile), instanceId, simplification, normalizeEnharmonics);
+			SongUtil.songCacheDir = cacheDirectory.getPath();
+			Song coldCache = SongUtil.readSong(songFile, instanceId, simplification, normalizeEnharmonics);
+			Song warmCache = SongUtil.readSong(songFile, instanceId, simplification, normalizeEnharmonics);
+			SongUtil.songCacheDir = null;
+			instanceId++;
+			for(Song song : Arrays.asList(xom, stax, packed, coldCache, warmCache)) {
+				song.internLabels();
+			}
+			if(useAllChordsPath != null) {
+				SongUtil.addAllLabels(useAllChordsPath);
+			}
+
+			List<String> differences = new ArrayList<String>();
+			compareFeatures("StAX", stax, xom, differences);
+			compareFeatures("corpus", packed, xom, differences);
+			compareFeatures("new cache entry", coldCache, xom, differences);
+			compareFeatures("cache entry", warmCache, xom, differences);
+			for(String difference : differences) {
+				System.out.println(xom.title + ": " + difference);
+			}
+			if(!differences.isEmpty()) {
+				numDifferent++;
+			}
+		}
+		for(File entry : cacheDirectory.listFiles()) {
+			entry.delete();
+		}
+		cacheDirectory.delete();
+		System.out.println(numDifferent == 0 ? "Same features" : numDifferent + " of " + songFiles.size() + " songs have different features");
+		System.exit(numDifferent == 0 ? 0 : 1);
+	}
+
+	/**
+	 * Compare the features of every edge of the unlabeled networks of two readings of a song (labels
+	 * already interned), with all the labels registered so far. Both networks are cut from the same
+	 * lattice, so their edges are compared in order.
+	 * @param what names the reading in the differences
+	 */
+	static void compareFeatures(String what, Song song, Song expected, List<String> differences) {
+		if(song.size() != expected.size()) {
+			differences.add(what + ": " + song.size() + " events instead of " + expected.size());
+			return;
+		}
+		song.setUnlabeled();
+		expected.setUnlabeled();
+
+		SpanLabel[] labels = SpanLabel.LABELS.values().toArray(new SpanLabel[SpanLabel.LABELS.size()]);
+		WordWeakSemiCRFNetworkCompiler compiler = new WordWeakSemiCRFNetworkCompiler(labels, expected.size(), 20);
+		WordWeakSemiCRFFeatureManager fm;
+		try {
+			// counting mode, so every feature is extracted and named
+			fm = new WordWeakSemiCRFFeatureManager(new GlobalNetworkParam(), new String[0], true, null, new String[0]);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		compiler.setFeatureManager(fm);
+		Network network = compiler.compile(-1, song, new LocalNetworkParam(-1, fm, -1));
+		Network expectedNetwork = compiler.compile(-1, expected, new LocalNetworkParam(-1, fm, -1));
+
+		int numDifferences = 0;
+		for(int k = 0; k < expectedNetwork.countNodes(); k++) {
+			int[][] children = expectedNetwork.getChildren(k);
+			for(int c = 0; c < children.length; c++) {
+				List<String> features = featureNames(fm, network, k, children[c]);
+				List<String> expectedFeatures = featureNames(fm, expectedNetwork, k, children[c]);
+				if(!features.equals(expectedFeatures)) {
+					if(numDifferences < MAX_PRINTED) {
+						differences.add(what + ": node " + k + " edge " + c + " has " + missing(expectedFeatures, features) + " instead of " + missing(features, expectedFeatures));
+					}
+					numDifferences++;
+				}
+			}
+		}
+		if(numDifferences > MAX_PRINTED) {
+			differences.add(what + ": " + (numDifferences - MAX_PRINTED) + " more edges with different features");
+		}
+	}
+
+	// the features of features that are not in others (as many times as they are missing)
+	private static List<String> missing(List<String> others, List<String> features) {
+		List<String> left = new ArrayList<String>(features);
+		for(String feature : others) {
+			left.remove(feature);
+		}
+		return left;
+	}
+
+	private static List<String> featureNames(WordWeakSemiCRFFeatureManager fm, Network network, int k, int[] children) {
+		List<String> names = new ArrayList<String>();
+		FeatureArray fa = fm.extract_helper(network, k, children);
+		while(fa != null) {
+			for(int f : fa.getCurrent()) {
+				names.add(fm.featureIDToName.get(f));
+			}
+			fa = fa.getNext();
+		}
+		String[] sorted = names.toArray(new String[names.size()]);
+		Arrays.sort(sorted);
+		return Arrays.asList(sorted);
+	}
+}
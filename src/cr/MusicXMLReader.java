@@ -0,0 +1,568 @@
+package cr;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import cr.CRMain.Simplify;
+
+/**
+ * Reads a partwise MusicXML score with chord labels in the lyrics straight into a Song<br>
+ * This follows musicxml_parser/musicxml_parser.py: one event per distinct note onset across all
+ * parts (music21 verticalities), the notes starting at the event first (shortest first) and then the
+ * notes held over from earlier onsets (fromPrevious), accents from the beat strength of the time signature, and one
+ * segment per chord label. The score is streamed one measure at a time; only the notes are kept.
+ */
+public class MusicXMLReader {
+
+	// scores exported by MuseScore, Finale or music21 name the MusicXML DTD, which is neither read nor fetched
+	private static final ThreadLocal<XMLInputFactory> xmlInputFactories = ThreadLocal.withInitial(() -> {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		return factory;
+	});
+
+	private static final int ACCENT_DEPTH = 3;			// levels of the accent hierarchy (as in music21)
+
+	// a note (or one pitch of a chord) with its position in the score
+	private static class ScoreNote {
+		String pitch;
+		Offset onset;
+		Offset offset;
+		double duration;
+		int measureNumber;
+		double beatStrength;
+		Offset measureOnset;	// for the beat strength, set when the measure is closed
+	}
+
+	public static boolean isMusicXML(String filename) {
+		return filename.endsWith(".musicxml") || filename.endsWith(".musicxml.gz");
+	}
+
+	public static Song read(String filename, int instanceId, Simplify simplification, boolean normalizeEnharmonics) throws IOException, XMLStreamException {
+		InputStream in = new FileInputStream(filename);
+		try {
+			return read(in, filename, instanceId, simplification, normalizeEnharmonics);
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * @param filename only used for the title and error messages
+	 */
+	public static Song read(InputStream in, String filename, int instanceId, Simplify simplification, boolean normalizeEnharmonics) throws IOException, XMLStreamException {
+		XMLStreamReader reader = xmlInputFactories.get().createXMLStreamReader(in);
+		List<ScoreNote> notes = new ArrayList<ScoreNote>();
+		TreeMap<Double, String> chords = new TreeMap<Double, String>();
+		Offset length = Offset.ZERO;
+
+		try {
+			// skip the DOCTYPE, comments and processing instructions before the root element
+			while(reader.next() != XMLStreamConstants.START_ELEMENT) {
+				if(reader.getEventType() == XMLStreamConstants.END_DOCUMENT) {
+					throw new IOException(filename + " is empty");
+				}
+			}
+			if(!reader.getLocalName().equals("score-partwise")) {
+				throw new IOException(filename + " is not a partwise MusicXML score");
+			}
+			while(reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+				if(reader.getLocalName().equals("part")) {
+					length = Offset.max(length, readPart(reader, notes, chords));
+				}
+				else {
+					SongUtil.skipElement(reader);
+				}
+			}
+		} finally {
+			reader.close();
+		}
+
+		if(chords.isEmpty()) {
+			throw new IOException(filename + " has no chord labels in its lyrics");
+		}
+
+		Song song = new Song(instanceId);
+		String title = filename.endsWith(".gz") ? filename.substring(0, filename.length() - 3) : filename;
+		song.title = title.contains(".") ? title.substring(0, title.lastIndexOf('.')) : title;
+		song.length = length.toDouble();
+		buildEvents(song, notes, chords, simplification, normalizeEnharmonics);
+		return song;
+	}
+
+	/**
+	 * Compare the song read from a score with the annotated_events file musicxml_parser.py writes for it
+	 * (e.g. musicxml_parser/test/000206b.musicxml and bach/000206b_annotated_events.xml). Titles are not
+	 * compared, since the script takes them from the file name. Labels are compared as they are written.
+	 * The features of the unlabeled networks of both songs, read as run-folds.sh reads them, are compared
+	 * too (see LoaderCheck), since equal fields do not make equal features; given a chord labels file (as
+	 * -useAllChordsPath takes), all its labels are added first, as training with -useAllChords does.<br>
+	 * Usage: java cr.MusicXMLReader &lt;score&gt; &lt;annotated_events file&gt; [&lt;chord labels file&gt;]
+	 */
+	public static void main(String[] args) throws Exception {
+		if(args.length != 2 && args.length != 3) {
+			System.err.println("Usage: java cr.MusicXMLReader <score> <annotated_events file> [<chord labels file>]");
+			System.exit(1);
+		}
+
+		Song read = read(args[0], 1, Simplify.NONE, false);
+		Song expected = SongUtil.readSong(args[1], 1, Simplify.NONE, false);
+		List<String> differences = new ArrayList<String>();
+		compare("length", read.length, expected.length, differences);
+		compare("events", read.input.size(), expected.input.size(), differences);
+		for(int e = 0; e < Math.min(read.input.size(), expected.input.size()); e++) {
+			Event event = read.input.get(e);
+			Event expectedEvent = expected.input.get(e);
+			String where = "event " + e + " ";
+			compare(where + "tag", read.getTagForm(e), expected.getTagForm(e), differences);
+			compare(where + "onset", event.onset, expectedEvent.onset, differences);
+			compare(where + "duration", event.duration, expectedEvent.duration, differences);
+			compare(where + "measure number", event.measureNumber, expectedEvent.measureNumber, differences);
+			compare(where + "accent", event.accent, expectedEvent.accent, differences);
+			compare(where + "notes", event.notes.size(), expectedEvent.notes.size(), differences);
+			for(int n = 0; n < Math.min(event.notes.size(), expectedEvent.notes.size()); n++) {
+				Note note = event.notes.get(n);
+				Note expectedNote = expectedEvent.notes.get(n);
+				String noteWhere = where + "note " + n + " ";
+				compare(noteWhere + "pitch", note.pitch, expectedNote.pitch, differences);
+				compare(noteWhere + "duration", note.duration, expectedNote.duration, differences);
+				compare(noteWhere + "fromPrevious", note.fromPrevious, expectedNote.fromPrevious, differences);
+				compare(noteWhere + "accent", note.accent, expectedNote.accent, differences);
+				compare(noteWhere + "onset", note.onset, expectedNote.onset, differences);
+			}
+		}
+		compare("segments", read.output.size(), expected.output.size(), differences);
+		for(int i = 0; i < Math.min(read.output.size(), expected.output.size()); i++) {
+			Span span = read.output.get(i);
+			Span expectedSpan = expected.output.get(i);
+			String where = "segment " + i + " ";
+			compare(where + "chord label", read.getChordLabelForm(i), expected.getChordLabelForm(i), differences);
+			compare(where + "onset", span.onset, expectedSpan.onset, differences);
+			compare(where + "offset", span.offset, expectedSpan.offset, differences);
+			compare(where + "start", span.start, expectedSpan.start, differences);
+			compare(where + "stop", span.stop, expectedSpan.stop, differences);
+		}
+		// features with the labels as run-folds.sh reads them
+		CRMain.simplification = Simplify.GENERIC_ADDED_NOTES;
+		read = read(args[0], 1, CRMain.simplification, true);
+		expected = SongUtil.readSong(args[1], 1, CRMain.simplification, true);
+		read.internLabels();
+		expected.internLabels();
+		if(args.length == 3) {
+			SongUtil.addAllLabels(args[2]);
+		}
+		LoaderCheck.compareFeatures("features", read, expected, differences);
+
+		for(String difference : differences) {
+			System.out.println(difference);
+		}
+		System.out.println(differences.isEmpty() ? "Same song" : differences.size() + " differences");
+		System.exit(differences.isEmpty() ? 0 : 1);
+	}
+
+	private static void compare(String what, Object read, Object expected, List<String> differences) {
+		if(!read.equals(expected)) {
+			differences.add(what + ": " + read + " instead of " + expected);
+		}
+	}
+
+	// reader starts on <part> and finishes on </part>; returns the length of the part
+	private static Offset readPart(XMLStreamReader reader, List<ScoreNote> notes, TreeMap<Double, String> chords) throws IOException, XMLStreamException {
+		Offset position = Offset.ZERO;
+		int divisions = 1;
+		int beats = 4;
+		int beatType = 4;
+		boolean firstMeasure = true;
+
+		while(reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			if(!reader.getLocalName().equals("measure")) {
+				SongUtil.skipElement(reader);
+				continue;
+			}
+
+			int measureNumber = parseMeasureNumber(reader.getAttributeValue(null, "number"));
+			Offset measureOnset = position;
+			Offset measureEnd = position;
+			Offset lastOnset = position;
+			List<ScoreNote> measureNotes = new ArrayList<ScoreNote>();
+
+			while(reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+				switch(reader.getLocalName()) {
+				case "attributes":
+					while(reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+						switch(reader.getLocalName()) {
+						case "divisions":
+							divisions = Integer.parseInt(reader.getElementText().trim());
+							break;
+						case "time":
+							while(reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+								if(reader.getLocalName().equals("beats")) {
+									// composite signatures such as 3+2
+									beats = 0;
+									for(String part : reader.getElementText().trim().split("\\+")) {
+										beats += Integer.parseInt(part.trim());
+									}
+								}
+								else if(reader.getLocalName().equals("beat-type")) {
+									beatType = Integer.parseInt(reader.getElementText().trim());
+								}
+								else {
+									SongUtil.skipElement(reader);
+								}
+							}
+							break;
+						default:
+							SongUtil.skipElement(reader);
+						}
+					}
+					break;
+				case "backup":
+					position = position.minus(readDuration(reader, divisions));
+					break;
+				case "forward":
+					position = position.plus(readDuration(reader, divisions));
+					measureEnd = Offset.max(measureEnd, position);
+					break;
+				case "note":
+					ScoreNote note = new ScoreNote();
+					Offset duration = null;
+					boolean chord = false;
+					boolean skip = false;
+					String step = null;
+					int alter = 0;
+					String octave = null;
+					List<String> lyrics = new ArrayList<String>();
+
+					while(reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+						switch(reader.getLocalName()) {
+						case "chord":
+							chord = true;
+							SongUtil.skipElement(reader);
+							break;
+						case "grace":
+						case "cue":
+						case "rest":
+						case "unpitched":
+							// grace and cue notes take no time; rests and unpitched notes only advance it
+							skip = skip || reader.getLocalName().equals("grace") || reader.getLocalName().equals("cue");
+							SongUtil.skipElement(reader);
+							break;
+						case "pitch":
+							while(reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+								switch(reader.getLocalName()) {
+								case "step":
+									step = reader.getElementText().trim();
+									break;
+								case "alter":
+									alter = (int) Math.round(Double.parseDouble(reader.getElementText().trim()));
+									break;
+								case "octave":
+									octave = reader.getElementText().trim();
+									break;
+								default:
+									SongUtil.skipElement(reader);
+								}
+							}
+							break;
+						case "duration":
+							duration = new Offset(Long.parseLong(reader.getElementText().trim()), divisions);
+							break;
+						case "lyric":
+							while(reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+								if(reader.getLocalName().equals("text")) {
+									lyrics.add(reader.getElementText());
+								}
+								else {
+									SongUtil.skipElement(reader);
+								}
+							}
+							break;
+						default:
+							SongUtil.skipElement(reader);
+						}
+					}
+
+					if(skip || duration == null) {
+						break;
+					}
+					Offset onset = chord ? lastOnset : position;
+					if(!chord) {
+						lastOnset = position;
+						position = position.plus(duration);
+						measureEnd = Offset.max(measureEnd, position);
+					}
+
+					// chord labels: last whitespace-separated word of the lyric, preferred annotation before '|'
+					for(String lyric : lyrics) {
+						String[] words = lyric.trim().split("\\s+");
+						if(!words[words.length - 1].isEmpty()) {
+							chords.put(onset.toDouble(), words[words.length - 1].split("\\|")[0]);
+						}
+					}
+
+					if(step != null) {
+						note.pitch = step + accidental(alter) + octave;
+						note.onset = onset;
+						note.offset = onset.plus(duration);
+						note.duration = duration.toDouble();
+						note.measureNumber = measureNumber;
+						note.measureOnset = measureOnset;
+						measureNotes.add(note);
+						notes.add(note);
+					}
+					break;
+				default:
+					SongUtil.skipElement(reader);
+				}
+			}
+
+			// an incomplete first measure is a pickup, so its notes are measured from the end of the bar
+			Offset barLength = new Offset(4L * beats, beatType);
+			Offset padding = Offset.ZERO;
+			Offset measureLength = measureEnd.minus(measureOnset);
+			if(firstMeasure && measureLength.compareTo(barLength) < 0) {
+				padding = barLength.minus(measureLength);
+			}
+			for(ScoreNote note : measureNotes) {
+				note.beatStrength = beatStrength(note.onset.minus(note.measureOnset).plus(padding), beats, beatType);
+			}
+
+			position = measureEnd;
+			firstMeasure = false;
+		}
+
+		return position;
+	}
+
+	private static void buildEvents(Song song, List<ScoreNote> notes, TreeMap<Double, String> chords, Simplify simplification, boolean normalizeEnharmonics) throws IOException {
+		// music21 keeps timespans sorted by onset and then by offset; notes that also end together keep
+		// part and document order (the list is already in that order)
+		List<ScoreNote> byOnset = new ArrayList<ScoreNote>(notes);
+		Collections.sort(byOnset, new Comparator<ScoreNote>() {
+			@Override
+			public int compare(ScoreNote note1, ScoreNote note2) {
+				int compare = note1.onset.compareTo(note2.onset);
+				return (compare != 0) ? compare : note1.offset.compareTo(note2.offset);
+			}
+		});
+
+		List<String> tagForms = new ArrayList<String>();
+		Map<Double, Integer> eventIndices = new HashMap<Double, Integer>();
+		String previousLabel = chords.firstEntry().getValue();
+		// the notes of the previous event by pitch, for the onsets of held notes
+		Map<String, Note> previousNotes = null;
+		// notes from earlier onsets that may still sound, in byOnset order
+		List<ScoreNote> activeNotes = new ArrayList<ScoreNote>();
+		int first = 0;
+		while(first < byOnset.size()) {
+			Offset onset = byOnset.get(first).onset;
+			int last = first;
+			while(last < byOnset.size() && byOnset.get(last).onset.compareTo(onset) == 0) {
+				last++;
+			}
+			double eventOnset = onset.toDouble();
+			double nextOnset = (last < byOnset.size()) ? byOnset.get(last).onset.toDouble() : song.length;
+			ScoreNote firstNote = byOnset.get(first);
+
+			// notes that start here, then the notes still sounding from earlier onsets
+			Event event = new Event(eventOnset, nextOnset - eventOnset, firstNote.measureNumber, firstNote.beatStrength, new ArrayList<Note>());
+			// every Note gets a pitch string of its own, as parsing an annotated_events file gives:
+			// Note.equals compares pitches by identity, and the features remove notes from segment copies with it
+			Map<String, Note> notesByPitch = new HashMap<String, Note>();
+			for(int i = first; i < last; i++) {
+				ScoreNote note = byOnset.get(i);
+				Note startingNote = new Note(new String(note.pitch), note.duration, false, event.accent, eventOnset);
+				event.notes.add(startingNote);
+				notesByPitch.put(startingNote.pitch, startingNote);
+			}
+			List<ScoreNote> stillActive = new ArrayList<ScoreNote>();
+			for(ScoreNote note : activeNotes) {
+				if(note.offset.compareTo(onset) > 0) {
+					stillActive.add(note);
+					Note heldNote = new Note(new String(note.pitch), note.duration, true, event.accent, 0.0);
+					// same onset as the annotated_events loader gives a fromPrevious note
+					Note previousNote = (previousNotes == null) ? null : previousNotes.get(note.pitch);
+					if(previousNote != null) {
+						heldNote.onset = previousNote.onset;
+					}
+					event.notes.add(heldNote);
+					notesByPitch.put(heldNote.pitch, heldNote);
+				}
+			}
+			stillActive.addAll(byOnset.subList(first, last));
+			activeNotes = stillActive;
+
+			String label = chords.get(eventOnset);
+			if(label != null) {
+				tagForms.add(SongUtil.normalizeLabel("B-" + label, simplification, normalizeEnharmonics));
+				previousLabel = label;
+			}
+			else {
+				tagForms.add(SongUtil.normalizeLabel("I-" + previousLabel, simplification, normalizeEnharmonics));
+			}
+
+			eventIndices.put(eventOnset, song.input.size());
+			song.input.add(event);
+			previousNotes = notesByPitch;
+			first = last;
+		}
+
+		List<String> chordLabelForms = new ArrayList<String>();
+		List<Double> chordOnsets = new ArrayList<Double>(chords.keySet());
+		for(int i = 0; i < chordOnsets.size(); i++) {
+			double onset = chordOnsets.get(i);
+			boolean lastChord = (i == chordOnsets.size() - 1);
+			Integer start = eventIndices.get(onset);
+			Integer stop = lastChord ? Integer.valueOf(song.input.size()) : eventIndices.get(chordOnsets.get(i + 1));
+			if(start == null || stop == null) {
+				throw new IOException("Chord label " + chords.get(onset) + " at " + onset + " in " + song.title + " is not on a note onset");
+			}
+			song.output.add(new Span(onset, lastChord ? song.length : chordOnsets.get(i + 1), start, stop, null));
+			chordLabelForms.add(SongUtil.normalizeLabel(chords.get(onset).trim(), simplification, normalizeEnharmonics));
+		}
+
+		song.setLabelForms(tagForms, chordLabelForms);
+	}
+
+	/**
+	 * Beat strength of a position in a measure, as music21 computes it: the bar is split into beats
+	 * (pairs of beats in 4/x, dotted beats in compound meters) and then halved, or split in three
+	 * below a compound beat. A position first reached at level L weighs 0.5^(L+1), the downbeat 1.0,
+	 * and anything below the last level half of the smallest weight.
+	 */
+	static double beatStrength(Offset offsetInMeasure, int beats, int beatType) {
+		if(offsetInMeasure.compareTo(Offset.ZERO) == 0) {
+			return 1.0;
+		}
+		boolean compound = (beats % 3 == 0) && (beats > 3);
+		Offset partLength = new Offset(4L * beats, beatType);
+		for(int level = 0; level < ACCENT_DEPTH; level++) {
+			int parts;
+			if(level == 0) {
+				parts = compound ? beats / 3 : (beats == 4 ? 2 : beats);
+			}
+			else {
+				parts = (compound && level == 1) ? 3 : 2;
+			}
+			partLength = partLength.divide(parts);
+			if(offsetInMeasure.isMultipleOf(partLength)) {
+				return Math.pow(0.5, level + 1);
+			}
+		}
+		return Math.pow(0.5, ACCENT_DEPTH + 1);
+	}
+
+	private static Offset readDuration(XMLStreamReader reader, int divisions) throws XMLStreamException {
+		Offset duration = Offset.ZERO;
+		while(reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			if(reader.getLocalName().equals("duration")) {
+				duration = new Offset(Long.parseLong(reader.getElementText().trim()), divisions);
+			}
+			else {
+				SongUtil.skipElement(reader);
+			}
+		}
+		return duration;
+	}
+
+	// music21 spells flats with '-', which the annotated_events files write as 'b'
+	private static String accidental(int alter) {
+		switch(alter) {
+		case 1:
+			return "#";
+		case 2:
+			return "##";
+		case -1:
+			return "b";
+		case -2:
+			return "bb";
+		default:
+			return "";
+		}
+	}
+
+	private static int parseMeasureNumber(String number) {
+		if(number == null) {
+			return 0;
+		}
+		int end = 0;
+		while(end < number.length() && Character.isDigit(number.charAt(end))) {
+			end++;
+		}
+		return (end == 0) ? 0 : Integer.parseInt(number.substring(0, end));
+	}
+
+	/**
+	 * An exact position or duration in quarter lengths. Divisions can differ between parts and
+	 * measures, and equal positions have to compare equal across parts.
+	 */
+	static final class Offset implements Comparable<Offset> {
+		static final Offset ZERO = new Offset(0, 1);
+
+		final long numerator;
+		final long denominator;
+
+		Offset(long numerator, long denominator) {
+			long gcd = gcd(Math.abs(numerator), Math.abs(denominator));
+			if(denominator < 0) {
+				gcd = -gcd;
+			}
+			this.numerator = numerator / gcd;
+			this.denominator = denominator / gcd;
+		}
+
+		Offset plus(Offset other) {
+			return new Offset(numerator * other.denominator + other.numerator * denominator, denominator * other.denominator);
+		}
+
+		Offset minus(Offset other) {
+			return new Offset(numerator * other.denominator - other.numerator * denominator, denominator * other.denominator);
+		}
+
+		Offset divide(int parts) {
+			return new Offset(numerator, denominator * parts);
+		}
+
+		boolean isMultipleOf(Offset other) {
+			// (this / other) is a whole number
+			return (numerator * other.denominator) % (denominator * other.numerator) == 0;
+		}
+
+		// one division of the reduced fraction, so equal offsets give the same double
+		double toDouble() {
+			return (double) numerator / denominator;
+		}
+
+		@Override
+		public int compareTo(Offset other) {
+			return Long.compare(numerator * other.denominator, other.numerator * denominator);
+		}
+
+		static Offset max(Offset offset1, Offset offset2) {
+			return offset1.compareTo(offset2) >= 0 ? offset1 : offset2;
+		}
+
+		private static long gcd(long a, long b) {
+			while(b != 0) {
+				long t = a % b;
+				a = b;
+				b = t;
+			}
+			return (a == 0) ? 1 : a;
+		}
+	}
+}
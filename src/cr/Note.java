@@ -1,5 +1,11 @@
 package cr;
 
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import nu.xom.Element;
 
 public class Note {
@@ -7,6 +13,11 @@ public class Note {
 	// Should I include a serialVersionUID?
 	
 	public String pitch;
+	public int pitchClass = -1;		// enharmonic pitch class, A = 0 (see SongUtil.enharmonicNotesToID)
+	public int octave = -1;			// octave number (last character of pitch)
+	public int semitone = -1;		// octave * 12 + semitones above C
+	public int letter = -1;			// note name without accidental, C = 0 ... B = 6
+	public int accidental = -1;		// 0 = flat, 1 = natural, 2 = sharp
 	public double duration;
 	public boolean fromPrevious;
 	public double accent;			// accent of event (based on Music21's beatStrength() method)
@@ -18,6 +29,11 @@ public class Note {
 	
 	public Note(Note oldNote) {
 		this.pitch = oldNote.pitch;
+		this.pitchClass = oldNote.pitchClass;
+		this.octave = oldNote.octave;
+		this.semitone = oldNote.semitone;
+		this.letter = oldNote.letter;
+		this.accidental = oldNote.accidental;
 		this.duration = oldNote.duration;
 		this.fromPrevious = oldNote.fromPrevious;
 		this.accent = oldNote.accent;
@@ -25,17 +41,20 @@ public class Note {
 	}
 
 	public Note(String pitch, double duration, Boolean fromPrevious, double accent, double onset) {
-		this.pitch = pitch;
+		setPitch(pitch);
 		this.duration = duration;
 		this.fromPrevious = fromPrevious;
 		this.accent = accent;
 		this.onset = onset;
 	}
 	
-	public static Note parseXML(Element element, Event previousEvent) {
+	/**
+	 * @param previousNotes the last note of each pitch in the previous event, for the onset of a tied note
+	 */
+	public static Note parseXML(Element element, Map<String, Note> previousNotes) {
 		Note note = new Note();
 		
-		note.pitch = element.getFirstChildElement("pitch").getValue();
+		note.setPitch(element.getFirstChildElement("pitch").getValue());
 		note.duration = Double.parseDouble(element.getFirstChildElement("duration").getValue());
 		note.fromPrevious = element.getFirstChildElement("fromPrevious").getValue().equals("True") ? true : false;
 		note.accent = Double.parseDouble(element.getFirstChildElement("accent").getValue());
@@ -43,15 +62,80 @@ public class Note {
 			note.onset = Double.parseDouble(element.getFirstChildElement("onset").getValue());
 		}
 		else {
-			for(Note previousNote : previousEvent.notes) {
-				if(note.pitch.equals(previousNote.pitch)) {
-					note.onset = previousNote.onset;
-				}
+			Note previousNote = (previousNotes == null) ? null : previousNotes.get(note.pitch);
+			if(previousNote != null) {
+				note.onset = previousNote.onset;
+			}
+		}
+		return note;
+	}
+	
+	public static Note parseXML(XMLStreamReader reader, Map<String, Note> previousNotes) throws XMLStreamException {
+		Note note = new Note();
+		String onset = null;
+		
+		// reader starts on <note> and finishes on </note>
+		while(reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			switch(reader.getLocalName()) {
+			case "pitch":
+				note.setPitch(reader.getElementText());
+				break;
+			case "duration":
+				note.duration = Double.parseDouble(reader.getElementText());
+				break;
+			case "fromPrevious":
+				note.fromPrevious = reader.getElementText().equals("True") ? true : false;
+				break;
+			case "accent":
+				note.accent = Double.parseDouble(reader.getElementText());
+				break;
+			case "onset":
+				onset = reader.getElementText();
+				break;
+			default:
+				SongUtil.skipElement(reader);
+			}
+		}
+		
+		if(!note.fromPrevious) {
+			note.onset = Double.parseDouble(onset);
+		}
+		else {
+			Note previousNote = (previousNotes == null) ? null : previousNotes.get(note.pitch);
+			if(previousNote != null) {
+				note.onset = previousNote.onset;
 			}
 		}
 		return note;
 	}
 	
+	/**
+	 * Set the pitch (e.g. "F#4") and decode it once into the numeric fields used by the features.<br>
+	 * Only the first accidental is read, so "F##4" has the pitch class of "F#4".
+	 */
+	public void setPitch(String pitch) {
+		this.pitch = pitch;
+		pitchClass = octave = semitone = letter = accidental = -1;
+		if(pitch.isEmpty()) {
+			return;
+		}
+		
+		letter = "CDEFGAB".indexOf(pitch.charAt(0));
+		if(letter < 0) {
+			return;
+		}
+		char sign = pitch.length() > 1 ? pitch.charAt(1) : ' ';
+		accidental = (sign == '#') ? 2 : (sign == 'b') ? 0 : 1;
+		Integer id = SongUtil.enharmonicNotesToID.get(accidental == 1 ? pitch.substring(0, 1) : pitch.substring(0, 2));
+		pitchClass = (id == null) ? -1 : id;
+		
+		octave = Character.digit(pitch.charAt(pitch.length() - 1), 10);
+		if(octave >= 0 && pitchClass >= 0) {
+			// C = 0, so Cb sits at the top of its octave and B# at the bottom
+			semitone = octave * 12 + (pitchClass + 9) % 12;
+		}
+	}
+	
 	private static boolean doubleEquals(double num1, double num2) {
 		double epsilon = 0.0000001d;
 		return (Math.abs(num1 - num2) < epsilon);
@@ -0,0 +1,91 @@
+package cr;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What the feature manager needs to know about a segment of a song that does not depend on its label<br>
+ * The segment features are extracted once for every label of a segment, so the notes and
+ * neighbouring events of the segment are worked out for the first label and then shared. Only the
+ * maxSegments segments of a song used last are kept.<br>
+ * The non-figuration bass of an event depends on the chord, but not on the segment: it is found from
+ * the event and the events next to it in the song. So it is worked out once per song and chord notes
+ * for all events, and read from there for every segment.
+ */
+public class SegmentCache {
+
+	public static int maxSegments = 1024;	// segments kept per song
+
+	private final List<Event> events;
+	private final Map<Long, Segment> segments = new LinkedHashMap<Long, Segment>(16, 0.75f, true) {
+		private static final long serialVersionUID = 3969284601557213860L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, Segment> eldest) {
+			return size() > maxSegments;
+		}
+	};
+
+	// bass of the non-figuration notes of each event of the song, by mask of the chord notes
+	private final Map<Integer, List<Note>> nonFigBassNotes = new HashMap<Integer, List<Note>>();
+
+	public SegmentCache(List<Event> events) {
+		this.events = events;
+	}
+
+	/**
+	 * @return the segment of the events from start (inclusive) to end (exclusive)
+	 */
+	public synchronized Segment get(int start, int end) {
+		long key = ((long)start << 32) | end;
+		Segment segment = segments.get(key);
+		if(segment == null) {
+			segment = new Segment(events, start, end);
+			segments.put(key, segment);
+		}
+		return segment;
+	}
+
+	/**
+	 * @return the bass of the non-figuration notes of each event from start (inclusive) to end (exclusive)
+	 * with these chord notes, as WordWeakSemiCRFFeatureManager.findNonFigBassNotes finds them for that segment
+	 */
+	public synchronized List<Note> getNonFigBassNotes(int start, int end, ChordNotes chordNotes) {
+		List<Note> bassNotes = nonFigBassNotes.get(chordNotes.getMask());
+		if(bassNotes == null) {
+			// the events before the first and after the last one of the song are empty, as for a segment
+			bassNotes = WordWeakSemiCRFFeatureManager.findNonFigBassNotes(events, new Event(), new Event(), chordNotes);
+			nonFigBassNotes.put(chordNotes.getMask(), bassNotes);
+		}
+		return bassNotes.subList(start, end);
+	}
+
+	/**
+	 * The label-independent facts of one segment, shared by the features of all its labels (read-only)
+	 */
+	public static class Segment {
+		public final List<Event> events;
+		public final Event previousEvent;		// the event before the segment, or an empty event
+		public final Event nextEvent;			// the event after the segment, or an empty event
+		public final Event secondEvent;			// the event after the first one, or an empty event if it is the last of the song
+		public final List<Note> notes;			// all notes of the first event and the notes starting in the later ones
+		public final int notesMask;				// pitch classes of the notes (see ChordNotes)
+		public final Note firstBass;
+		public final Note segmentBass;
+
+		private Segment(List<Event> songEvents, int start, int end) {
+			int size = songEvents.size();
+			events = songEvents.subList(start, end);
+			previousEvent = (start > 0) ? songEvents.get(start - 1) : new Event();
+			nextEvent = (end < size) ? songEvents.get(end) : new Event();
+			secondEvent = ((start + 1) < (size - 1)) ? songEvents.get(start + 1) : new Event();
+			notes = WordWeakSemiCRFFeatureManager.getNotesInSegment(events);
+			notesMask = ChordNotes.maskOf(notes);
+			firstBass = WordWeakSemiCRFFeatureManager.findBassNote(events.get(0).notes);
+			segmentBass = WordWeakSemiCRFFeatureManager.findBassNote(notes);
+		}
+	}
+
+}
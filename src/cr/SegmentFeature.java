@@ -0,0 +1,290 @@
+package cr;
+
+import static cr.SegmentFeature.ChordClass.*;
+import static cr.SegmentFeature.NoteSet.*;
+import static cr.SegmentFeature.Statistic.*;
+import static cr.WordWeakSemiCRFFeatureManager.FeatureType.*;
+
+import cr.WordWeakSemiCRFFeatureManager.FeatureType;
+import cr.WordWeakSemiCRFFeatureManager.Weight;
+
+/**
+ * How the value of one segment feature is worked out: which statistic of the segment it reads, how the
+ * notes are weighted, which notes it is read from, which chord note (by interval, 0 being the root) it
+ * is about and which chords it applies to<br>
+ * REGISTRY holds every segment feature in the order they are extracted, which is also the order in which
+ * new features get their IDs, so a feature family is added with a FeatureType constant and a line per
+ * feature here (and a new Statistic or NoteSet, read in {@link SegmentFeaturePlan}, if none fits). Features
+ * of a chord class the label is not in are never extracted; a binary statistic adds its feature when it
+ * holds, the others add the feature of their value.
+ */
+public final class SegmentFeature {
+
+	public static final int NO_INTERVAL = -1;
+
+	public enum Statistic {
+		CHORD_PURITY,			// consistency level of the share of chord notes among the notes
+		COVERED,				// (binary) the chord note is among the notes
+		NOT_COVERED,			// (binary) the chord note is not among the notes
+		ALL_COVERED,			// (binary) every note of the chord is among the notes
+		LONGER_THAN_ROOT,		// (binary) the added note (or 7th) lasts longer than the root
+		WEIGHTED_COVERAGE,		// consistency level of the weight of the chord note among the notes
+		SEGMENT_COVERAGE,		// the same with the notes of the segment weighted by their whole duration
+		BEGINNING_ACCENT,		// accent of the first event of the segment
+		BASS_IS,				// (binary) the bass of the notes is the chord note
+		WEIGHTED_BASS,			// consistency level of the weight of the events with the chord note in the bass
+		;
+	}
+
+	public enum NoteSet {
+		SEGMENT,				// the notes of the segment
+		NON_FIG_SEGMENT,		// the notes of the segment that are not figuration (for WEIGHTED_BASS, those of each event)
+		FIRST_EVENT,			// the notes of the first event
+		NON_FIG_FIRST_EVENT,	// the notes of the first event that are not figuration
+		;
+	}
+
+	public enum ChordClass {
+		ANY,
+		REGULAR,				// neither an augmented 6th nor a sus or power chord
+		ADDED_NOTE,				// a regular chord with an added note
+		SUS_OR_POW,
+		SUS,
+		SEVENTH_SUS4,
+		AUG6,
+		FR_OR_GER,
+		;
+
+		public boolean matches(ChordTemplate chord) {
+			switch(this) {
+			case REGULAR:
+				return chord.isReg;
+			case ADDED_NOTE:
+				return !chord.addedNote.isEmpty();
+			case SUS_OR_POW:
+				return chord.isSusOrPow;
+			case SUS:
+				return chord.isSus;
+			case SEVENTH_SUS4:
+				return chord.is7sus4;
+			case AUG6:
+				return chord.isAug6;
+			case FR_OR_GER:
+				return chord.isFrOrGer;
+			default:
+				return true;
+			}
+		}
+	}
+
+	public static final SegmentFeature[] REGISTRY = {
+		// purity: share of the notes of the segment that are chord notes
+		new SegmentFeature(PURITY, CHORD_PURITY, null, SEGMENT, NO_INTERVAL, ANY),
+		new SegmentFeature(ACCENTED_PURITY, CHORD_PURITY, Weight.ACCENT, SEGMENT, NO_INTERVAL, ANY),
+		new SegmentFeature(DURATION_PURITY, CHORD_PURITY, Weight.DURATION, SEGMENT, NO_INTERVAL, ANY),
+		new SegmentFeature(FIG_PURITY, CHORD_PURITY, null, NON_FIG_SEGMENT, NO_INTERVAL, ANY),
+		new SegmentFeature(FIG_ACCENTED_PURITY, CHORD_PURITY, Weight.ACCENT, NON_FIG_SEGMENT, NO_INTERVAL, ANY),
+		new SegmentFeature(FIG_DURATION_PURITY, CHORD_PURITY, Weight.DURATION, NON_FIG_SEGMENT, NO_INTERVAL, ANY),
+
+		// chord notes present in the segment
+		new SegmentFeature(ROOT_COVERED, COVERED, null, SEGMENT, 0, REGULAR),
+		new SegmentFeature(THIRD_COVERED, COVERED, null, SEGMENT, 1, REGULAR),
+		new SegmentFeature(FIFTH_COVERED, COVERED, null, SEGMENT, 2, REGULAR),
+		new SegmentFeature(ADDED_NOTE_COVERED, COVERED, null, SEGMENT, 3, REGULAR),
+		new SegmentFeature(ADDED_NOTE_NOT_COVERED, NOT_COVERED, null, SEGMENT, 3, ADDED_NOTE),
+		new SegmentFeature(SUS_OR_POW_ROOT_COVERED, COVERED, null, SEGMENT, 0, SUS_OR_POW),
+		new SegmentFeature(SUS_OR_POW_2ND_OR_4TH_COVERED, COVERED, null, SEGMENT, 1, SUS),
+		new SegmentFeature(SUS_OR_POW_5TH_COVERED, COVERED, null, SEGMENT, 2, SUS_OR_POW),
+		new SegmentFeature(DOM7SUS4_7TH_COVERED, COVERED, null, SEGMENT, 3, SEVENTH_SUS4),
+		new SegmentFeature(DOM7SUS4_7TH_NOT_COVERED, NOT_COVERED, null, SEGMENT, 3, SEVENTH_SUS4),
+		new SegmentFeature(AUG6_BASS_COVERED, COVERED, null, SEGMENT, 0, AUG6),
+		new SegmentFeature(AUG6_3RD_COVERED, COVERED, null, SEGMENT, 1, AUG6),
+		new SegmentFeature(AUG6_6TH_COVERED, COVERED, null, SEGMENT, 2, AUG6),
+		new SegmentFeature(AUG6_5TH_COVERED, COVERED, null, SEGMENT, 3, FR_OR_GER),
+		new SegmentFeature(ALL_NOTES_COVERED, ALL_COVERED, null, SEGMENT, NO_INTERVAL, ANY),
+		new SegmentFeature(DURATION_ADDED_NOTE_GREATER_THAN_ROOT, LONGER_THAN_ROOT, null, SEGMENT, 3, ADDED_NOTE),
+		new SegmentFeature(DURATION_7TH_OF_7SUS4_GREATER_THAN_ROOT, LONGER_THAN_ROOT, null, SEGMENT, 3, SEVENTH_SUS4),
+
+		// weight of each chord note in the segment
+		new SegmentFeature(DURATION_ROOT_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, SEGMENT, 0, REGULAR),
+		new SegmentFeature(FIG_DURATION_ROOT_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, NON_FIG_SEGMENT, 0, REGULAR),
+		new SegmentFeature(SEGMENT_DURATION_ROOT_COVERED, SEGMENT_COVERAGE, Weight.DURATION, SEGMENT, 0, REGULAR),
+		new SegmentFeature(DURATION_THIRD_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, SEGMENT, 1, REGULAR),
+		new SegmentFeature(FIG_DURATION_THIRD_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, NON_FIG_SEGMENT, 1, REGULAR),
+		new SegmentFeature(SEGMENT_DURATION_THIRD_COVERED, SEGMENT_COVERAGE, Weight.DURATION, SEGMENT, 1, REGULAR),
+		new SegmentFeature(DURATION_FIFTH_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, SEGMENT, 2, REGULAR),
+		new SegmentFeature(FIG_DURATION_FIFTH_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, NON_FIG_SEGMENT, 2, REGULAR),
+		new SegmentFeature(SEGMENT_DURATION_FIFTH_COVERED, SEGMENT_COVERAGE, Weight.DURATION, SEGMENT, 2, REGULAR),
+		new SegmentFeature(ACCENT_ROOT_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, SEGMENT, 0, REGULAR),
+		new SegmentFeature(FIG_ACCENT_ROOT_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, NON_FIG_SEGMENT, 0, REGULAR),
+		new SegmentFeature(ACCENT_THIRD_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, SEGMENT, 1, REGULAR),
+		new SegmentFeature(FIG_ACCENT_THIRD_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, NON_FIG_SEGMENT, 1, REGULAR),
+		new SegmentFeature(ACCENT_FIFTH_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, SEGMENT, 2, REGULAR),
+		new SegmentFeature(FIG_ACCENT_FIFTH_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, NON_FIG_SEGMENT, 2, REGULAR),
+		new SegmentFeature(DURATION_ADDED_NOTE_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, SEGMENT, 3, REGULAR),
+		new SegmentFeature(FIG_DURATION_ADDED_NOTE_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, NON_FIG_SEGMENT, 3, REGULAR),
+		new SegmentFeature(SEGMENT_DURATION_ADDED_NOTE_COVERED, SEGMENT_COVERAGE, Weight.DURATION, SEGMENT, 3, REGULAR),
+		new SegmentFeature(ACCENT_ADDED_NOTE_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, SEGMENT, 3, REGULAR),
+		new SegmentFeature(FIG_ACCENT_ADDED_NOTE_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, NON_FIG_SEGMENT, 3, REGULAR),
+		new SegmentFeature(DURATION_SUS_POW_ROOT_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, SEGMENT, 0, SUS_OR_POW),
+		new SegmentFeature(FIG_DURATION_SUS_POW_ROOT_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, NON_FIG_SEGMENT, 0, SUS_OR_POW),
+		new SegmentFeature(SEGMENT_DURATION_SUS_POW_ROOT_COVERED, SEGMENT_COVERAGE, Weight.DURATION, SEGMENT, 0, SUS_OR_POW),
+		new SegmentFeature(DURATION_SUS_POW_SECOND_OR_FOURTH_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, SEGMENT, 1, SUS),
+		new SegmentFeature(FIG_DURATION_SUS_POW_SECOND_OR_FOURTH_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, NON_FIG_SEGMENT, 1, SUS),
+		new SegmentFeature(SEGMENT_DURATION_SUS_POW_SECOND_OR_FOURTH_COVERED, SEGMENT_COVERAGE, Weight.DURATION, SEGMENT, 1, SUS),
+		new SegmentFeature(DURATION_SUS_POW_FIFTH_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, SEGMENT, 2, SUS_OR_POW),
+		new SegmentFeature(FIG_DURATION_SUS_POW_FIFTH_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, NON_FIG_SEGMENT, 2, SUS_OR_POW),
+		new SegmentFeature(SEGMENT_DURATION_SUS_POW_FIFTH_COVERED, SEGMENT_COVERAGE, Weight.DURATION, SEGMENT, 2, SUS_OR_POW),
+		new SegmentFeature(ACCENT_SUS_POW_ROOT_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, SEGMENT, 0, SUS_OR_POW),
+		new SegmentFeature(FIG_ACCENT_SUS_POW_ROOT_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, NON_FIG_SEGMENT, 0, SUS_OR_POW),
+		new SegmentFeature(ACCENT_SUS_POW_SECOND_OR_FOURTH_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, SEGMENT, 1, SUS),
+		new SegmentFeature(FIG_ACCENT_SUS_POW_SECOND_OR_FOURTH_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, NON_FIG_SEGMENT, 1, SUS),
+		new SegmentFeature(ACCENT_SUS_POW_FIFTH_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, SEGMENT, 2, SUS_OR_POW),
+		new SegmentFeature(FIG_ACCENT_SUS_POW_FIFTH_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, NON_FIG_SEGMENT, 2, SUS_OR_POW),
+		new SegmentFeature(DURATION_SUS_POW_7SUS4_SEVENTH_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, SEGMENT, 3, SEVENTH_SUS4),
+		new SegmentFeature(FIG_DURATION_SUS_POW_7SUS4_SEVENTH_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, NON_FIG_SEGMENT, 3, SEVENTH_SUS4),
+		new SegmentFeature(SEGMENT_DURATION_SUS_POW_7SUS4_SEVENTH_COVERED, SEGMENT_COVERAGE, Weight.DURATION, SEGMENT, 3, SEVENTH_SUS4),
+		new SegmentFeature(ACCENT_SUS_POW_7SUS4_SEVENTH_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, SEGMENT, 3, SEVENTH_SUS4),
+		new SegmentFeature(FIG_ACCENT_SUS_POW_7SUS4_SEVENTH_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, NON_FIG_SEGMENT, 3, SEVENTH_SUS4),
+		new SegmentFeature(DURATION_AUG6_BASS_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, SEGMENT, 0, AUG6),
+		new SegmentFeature(FIG_DURATION_AUG6_BASS_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, NON_FIG_SEGMENT, 0, AUG6),
+		new SegmentFeature(SEGMENT_DURATION_AUG6_BASS_COVERED, SEGMENT_COVERAGE, Weight.DURATION, SEGMENT, 0, AUG6),
+		new SegmentFeature(DURATION_AUG6_3RD_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, SEGMENT, 1, AUG6),
+		new SegmentFeature(FIG_DURATION_AUG6_3RD_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, NON_FIG_SEGMENT, 1, AUG6),
+		new SegmentFeature(SEGMENT_DURATION_AUG6_3RD_COVERED, SEGMENT_COVERAGE, Weight.DURATION, SEGMENT, 1, AUG6),
+		new SegmentFeature(DURATION_AUG6_6TH_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, SEGMENT, 2, AUG6),
+		new SegmentFeature(FIG_DURATION_AUG6_6TH_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, NON_FIG_SEGMENT, 2, AUG6),
+		new SegmentFeature(SEGMENT_DURATION_AUG6_6TH_COVERED, SEGMENT_COVERAGE, Weight.DURATION, SEGMENT, 2, AUG6),
+		new SegmentFeature(DURATION_AUG6_5TH_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, SEGMENT, 3, FR_OR_GER),
+		new SegmentFeature(FIG_DURATION_AUG6_5TH_COVERED, WEIGHTED_COVERAGE, Weight.DURATION, NON_FIG_SEGMENT, 3, FR_OR_GER),
+		new SegmentFeature(SEGMENT_DURATION_AUG6_5TH_COVERED, SEGMENT_COVERAGE, Weight.DURATION, SEGMENT, 3, FR_OR_GER),
+		new SegmentFeature(ACCENT_AUG6_BASS_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, SEGMENT, 0, AUG6),
+		new SegmentFeature(FIG_ACCENT_AUG6_BASS_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, NON_FIG_SEGMENT, 0, AUG6),
+		new SegmentFeature(ACCENT_AUG6_3RD_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, SEGMENT, 1, AUG6),
+		new SegmentFeature(FIG_ACCENT_AUG6_3RD_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, NON_FIG_SEGMENT, 1, AUG6),
+		new SegmentFeature(ACCENT_AUG6_6TH_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, SEGMENT, 2, AUG6),
+		new SegmentFeature(FIG_ACCENT_AUG6_6TH_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, NON_FIG_SEGMENT, 2, AUG6),
+		new SegmentFeature(ACCENT_AUG6_5TH_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, SEGMENT, 3, FR_OR_GER),
+		new SegmentFeature(FIG_ACCENT_AUG6_5TH_COVERED, WEIGHTED_COVERAGE, Weight.ACCENT, NON_FIG_SEGMENT, 3, FR_OR_GER),
+
+		// accent of the first event
+		new SegmentFeature(BEGINNING_ACCENTED, BEGINNING_ACCENT, null, FIRST_EVENT, NO_INTERVAL, ANY),
+
+		// chord note in the bass
+		new SegmentFeature(FIRST_BASS_IS_ROOT, BASS_IS, null, FIRST_EVENT, 0, REGULAR),
+		new SegmentFeature(FIRST_BASS_IS_THIRD, BASS_IS, null, FIRST_EVENT, 1, REGULAR),
+		new SegmentFeature(FIRST_BASS_IS_FIFTH, BASS_IS, null, FIRST_EVENT, 2, REGULAR),
+		new SegmentFeature(FIRST_BASS_IS_ADDED_NOTE, BASS_IS, null, FIRST_EVENT, 3, REGULAR),
+		new SegmentFeature(FIRST_BASS_IS_SUS_POW_ROOT, BASS_IS, null, FIRST_EVENT, 0, SUS_OR_POW),
+		new SegmentFeature(FIRST_BASS_IS_SUS_POW_2ND_OR_4TH, BASS_IS, null, FIRST_EVENT, 1, SUS),
+		new SegmentFeature(FIRST_BASS_IS_SUS_POW_5TH, BASS_IS, null, FIRST_EVENT, 2, SUS_OR_POW),
+		new SegmentFeature(FIRST_BASS_IS_SUS_POW_7SUS4_7TH, BASS_IS, null, FIRST_EVENT, 3, SEVENTH_SUS4),
+		new SegmentFeature(FIRST_BASS_IS_AUG6_BASS, BASS_IS, null, FIRST_EVENT, 0, AUG6),
+		new SegmentFeature(FIRST_BASS_IS_AUG6_3RD, BASS_IS, null, FIRST_EVENT, 1, AUG6),
+		new SegmentFeature(FIRST_BASS_IS_AUG6_6TH, BASS_IS, null, FIRST_EVENT, 2, AUG6),
+		new SegmentFeature(FIRST_BASS_IS_AUG6_5TH, BASS_IS, null, FIRST_EVENT, 3, FR_OR_GER),
+		new SegmentFeature(FIG_FIRST_BASS_IS_ROOT, BASS_IS, null, NON_FIG_FIRST_EVENT, 0, REGULAR),
+		new SegmentFeature(FIG_FIRST_BASS_IS_THIRD, BASS_IS, null, NON_FIG_FIRST_EVENT, 1, REGULAR),
+		new SegmentFeature(FIG_FIRST_BASS_IS_FIFTH, BASS_IS, null, NON_FIG_FIRST_EVENT, 2, REGULAR),
+		new SegmentFeature(FIG_FIRST_BASS_IS_ADDED_NOTE, BASS_IS, null, NON_FIG_FIRST_EVENT, 3, REGULAR),
+		new SegmentFeature(FIG_FIRST_BASS_IS_SUS_POW_ROOT, BASS_IS, null, NON_FIG_FIRST_EVENT, 0, SUS_OR_POW),
+		new SegmentFeature(FIG_FIRST_BASS_IS_SUS_POW_2ND_OR_4TH, BASS_IS, null, NON_FIG_FIRST_EVENT, 1, SUS),
+		new SegmentFeature(FIG_FIRST_BASS_IS_SUS_POW_5TH, BASS_IS, null, NON_FIG_FIRST_EVENT, 2, SUS_OR_POW),
+		new SegmentFeature(FIG_FIRST_BASS_IS_SUS_POW_7SUS4_7TH, BASS_IS, null, NON_FIG_FIRST_EVENT, 3, SEVENTH_SUS4),
+		new SegmentFeature(FIG_FIRST_BASS_IS_AUG6_BASS, BASS_IS, null, NON_FIG_FIRST_EVENT, 0, AUG6),
+		new SegmentFeature(FIG_FIRST_BASS_IS_AUG6_3RD, BASS_IS, null, NON_FIG_FIRST_EVENT, 1, AUG6),
+		new SegmentFeature(FIG_FIRST_BASS_IS_AUG6_6TH, BASS_IS, null, NON_FIG_FIRST_EVENT, 2, AUG6),
+		new SegmentFeature(FIG_FIRST_BASS_IS_AUG6_5TH, BASS_IS, null, NON_FIG_FIRST_EVENT, 3, FR_OR_GER),
+		new SegmentFeature(SEGMENT_BASS_IS_ROOT, BASS_IS, null, SEGMENT, 0, REGULAR),
+		new SegmentFeature(SEGMENT_BASS_IS_THIRD, BASS_IS, null, SEGMENT, 1, REGULAR),
+		new SegmentFeature(SEGMENT_BASS_IS_FIFTH, BASS_IS, null, SEGMENT, 2, REGULAR),
+		new SegmentFeature(SEGMENT_BASS_IS_ADDED_NOTE, BASS_IS, null, SEGMENT, 3, REGULAR),
+		new SegmentFeature(SEGMENT_BASS_IS_SUS_POW_ROOT, BASS_IS, null, SEGMENT, 0, SUS_OR_POW),
+		new SegmentFeature(SEGMENT_BASS_IS_SUS_POW_2ND_OR_4TH, BASS_IS, null, SEGMENT, 1, SUS),
+		new SegmentFeature(SEGMENT_BASS_IS_SUS_POW_5TH, BASS_IS, null, SEGMENT, 2, SUS_OR_POW),
+		new SegmentFeature(SEGMENT_BASS_IS_SUS_POW_7SUS4_7TH, BASS_IS, null, SEGMENT, 3, SEVENTH_SUS4),
+		new SegmentFeature(SEGMENT_BASS_IS_AUG6_BASS, BASS_IS, null, SEGMENT, 0, AUG6),
+		new SegmentFeature(SEGMENT_BASS_IS_AUG6_3RD, BASS_IS, null, SEGMENT, 1, AUG6),
+		new SegmentFeature(SEGMENT_BASS_IS_AUG6_6TH, BASS_IS, null, SEGMENT, 2, AUG6),
+		new SegmentFeature(SEGMENT_BASS_IS_AUG6_5TH, BASS_IS, null, SEGMENT, 3, FR_OR_GER),
+		new SegmentFeature(FIG_SEGMENT_BASS_IS_ROOT, BASS_IS, null, NON_FIG_SEGMENT, 0, REGULAR),
+		new SegmentFeature(FIG_SEGMENT_BASS_IS_THIRD, BASS_IS, null, NON_FIG_SEGMENT, 1, REGULAR),
+		new SegmentFeature(FIG_SEGMENT_BASS_IS_FIFTH, BASS_IS, null, NON_FIG_SEGMENT, 2, REGULAR),
+		new SegmentFeature(FIG_SEGMENT_BASS_IS_ADDED_NOTE, BASS_IS, null, NON_FIG_SEGMENT, 3, REGULAR),
+		new SegmentFeature(FIG_SEGMENT_BASS_IS_SUS_POW_ROOT, BASS_IS, null, NON_FIG_SEGMENT, 0, SUS_OR_POW),
+		new SegmentFeature(FIG_SEGMENT_BASS_IS_SUS_POW_2ND_OR_4TH, BASS_IS, null, NON_FIG_SEGMENT, 1, SUS),
+		new SegmentFeature(FIG_SEGMENT_BASS_IS_SUS_POW_5TH, BASS_IS, null, NON_FIG_SEGMENT, 2, SUS_OR_POW),
+		new SegmentFeature(FIG_SEGMENT_BASS_IS_SUS_POW_7SUS4_7TH, BASS_IS, null, NON_FIG_SEGMENT, 3, SEVENTH_SUS4),
+		new SegmentFeature(FIG_SEGMENT_BASS_IS_AUG6_BASS, BASS_IS, null, NON_FIG_SEGMENT, 0, AUG6),
+		new SegmentFeature(FIG_SEGMENT_BASS_IS_AUG6_3RD, BASS_IS, null, NON_FIG_SEGMENT, 1, AUG6),
+		new SegmentFeature(FIG_SEGMENT_BASS_IS_AUG6_6TH, BASS_IS, null, NON_FIG_SEGMENT, 2, AUG6),
+		new SegmentFeature(FIG_SEGMENT_BASS_IS_AUG6_5TH, BASS_IS, null, NON_FIG_SEGMENT, 3, FR_OR_GER),
+
+		// weight of the events with each chord note in the bass
+		new SegmentFeature(DURATION_BASS_IS_ROOT, WEIGHTED_BASS, Weight.DURATION, SEGMENT, 0, REGULAR),
+		new SegmentFeature(DURATION_BASS_IS_THIRD, WEIGHTED_BASS, Weight.DURATION, SEGMENT, 1, REGULAR),
+		new SegmentFeature(DURATION_BASS_IS_FIFTH, WEIGHTED_BASS, Weight.DURATION, SEGMENT, 2, REGULAR),
+		new SegmentFeature(DURATION_BASS_IS_ADDED_NOTE, WEIGHTED_BASS, Weight.DURATION, SEGMENT, 3, REGULAR),
+		new SegmentFeature(DURATION_SUS_POW_BASS_IS_ROOT, WEIGHTED_BASS, Weight.DURATION, SEGMENT, 0, SUS_OR_POW),
+		new SegmentFeature(DURATION_SUS_POW_BASS_IS_2ND_OR_4TH, WEIGHTED_BASS, Weight.DURATION, SEGMENT, 1, SUS),
+		new SegmentFeature(DURATION_SUS_POW_BASS_IS_5TH, WEIGHTED_BASS, Weight.DURATION, SEGMENT, 2, SUS_OR_POW),
+		new SegmentFeature(DURATION_SUS_POW_BASS_IS_7SUS4_7TH, WEIGHTED_BASS, Weight.DURATION, SEGMENT, 3, SEVENTH_SUS4),
+		new SegmentFeature(DURATION_BASS_IS_AUG6_BASS, WEIGHTED_BASS, Weight.DURATION, SEGMENT, 0, AUG6),
+		new SegmentFeature(DURATION_BASS_IS_AUG6_3RD, WEIGHTED_BASS, Weight.DURATION, SEGMENT, 1, AUG6),
+		new SegmentFeature(DURATION_BASS_IS_AUG6_6TH, WEIGHTED_BASS, Weight.DURATION, SEGMENT, 2, AUG6),
+		new SegmentFeature(DURATION_BASS_IS_AUG6_5TH, WEIGHTED_BASS, Weight.DURATION, SEGMENT, 3, FR_OR_GER),
+		new SegmentFeature(ACCENT_BASS_IS_ROOT, WEIGHTED_BASS, Weight.ACCENT, SEGMENT, 0, REGULAR),
+		new SegmentFeature(ACCENT_BASS_IS_THIRD, WEIGHTED_BASS, Weight.ACCENT, SEGMENT, 1, REGULAR),
+		new SegmentFeature(ACCENT_BASS_IS_FIFTH, WEIGHTED_BASS, Weight.ACCENT, SEGMENT, 2, REGULAR),
+		new SegmentFeature(ACCENT_BASS_IS_ADDED_NOTE, WEIGHTED_BASS, Weight.ACCENT, SEGMENT, 3, REGULAR),
+		new SegmentFeature(ACCENT_SUS_POW_BASS_IS_ROOT, WEIGHTED_BASS, Weight.ACCENT, SEGMENT, 0, SUS_OR_POW),
+		new SegmentFeature(ACCENT_SUS_POW_BASS_IS_2ND_OR_4TH, WEIGHTED_BASS, Weight.ACCENT, SEGMENT, 1, SUS),
+		new SegmentFeature(ACCENT_SUS_POW_BASS_IS_5TH, WEIGHTED_BASS, Weight.ACCENT, SEGMENT, 2, SUS_OR_POW),
+		new SegmentFeature(ACCENT_SUS_POW_BASS_IS_7SUS4_7TH, WEIGHTED_BASS, Weight.ACCENT, SEGMENT, 3, SEVENTH_SUS4),
+		new SegmentFeature(ACCENT_BASS_IS_AUG6_BASS, WEIGHTED_BASS, Weight.ACCENT, SEGMENT, 0, AUG6),
+		new SegmentFeature(ACCENT_BASS_IS_AUG6_3RD, WEIGHTED_BASS, Weight.ACCENT, SEGMENT, 1, AUG6),
+		new SegmentFeature(ACCENT_BASS_IS_AUG6_6TH, WEIGHTED_BASS, Weight.ACCENT, SEGMENT, 2, AUG6),
+		new SegmentFeature(ACCENT_BASS_IS_AUG6_5TH, WEIGHTED_BASS, Weight.ACCENT, SEGMENT, 3, FR_OR_GER),
+		new SegmentFeature(FIG_DURATION_BASS_IS_ROOT, WEIGHTED_BASS, Weight.DURATION, NON_FIG_SEGMENT, 0, REGULAR),
+		new SegmentFeature(FIG_DURATION_BASS_IS_THIRD, WEIGHTED_BASS, Weight.DURATION, NON_FIG_SEGMENT, 1, REGULAR),
+		new SegmentFeature(FIG_DURATION_BASS_IS_FIFTH, WEIGHTED_BASS, Weight.DURATION, NON_FIG_SEGMENT, 2, REGULAR),
+		new SegmentFeature(FIG_DURATION_BASS_IS_ADDED_NOTE, WEIGHTED_BASS, Weight.DURATION, NON_FIG_SEGMENT, 3, REGULAR),
+		new SegmentFeature(FIG_DURATION_SUS_POW_BASS_IS_ROOT, WEIGHTED_BASS, Weight.DURATION, NON_FIG_SEGMENT, 0, SUS_OR_POW),
+		new SegmentFeature(FIG_DURATION_SUS_POW_BASS_IS_2ND_OR_4TH, WEIGHTED_BASS, Weight.DURATION, NON_FIG_SEGMENT, 1, SUS),
+		new SegmentFeature(FIG_DURATION_SUS_POW_BASS_IS_5TH, WEIGHTED_BASS, Weight.DURATION, NON_FIG_SEGMENT, 2, SUS_OR_POW),
+		new SegmentFeature(FIG_DURATION_SUS_POW_BASS_IS_7SUS4_7TH, WEIGHTED_BASS, Weight.DURATION, NON_FIG_SEGMENT, 3, SEVENTH_SUS4),
+		new SegmentFeature(FIG_DURATION_BASS_IS_AUG6_BASS, WEIGHTED_BASS, Weight.DURATION, NON_FIG_SEGMENT, 0, AUG6),
+		new SegmentFeature(FIG_DURATION_BASS_IS_AUG6_3RD, WEIGHTED_BASS, Weight.DURATION, NON_FIG_SEGMENT, 1, AUG6),
+		new SegmentFeature(FIG_DURATION_BASS_IS_AUG6_6TH, WEIGHTED_BASS, Weight.DURATION, NON_FIG_SEGMENT, 2, AUG6),
+		new SegmentFeature(FIG_DURATION_BASS_IS_AUG6_5TH, WEIGHTED_BASS, Weight.DURATION, NON_FIG_SEGMENT, 3, FR_OR_GER),
+		new SegmentFeature(FIG_ACCENT_BASS_IS_ROOT, WEIGHTED_BASS, Weight.ACCENT, NON_FIG_SEGMENT, 0, REGULAR),
+		new SegmentFeature(FIG_ACCENT_BASS_IS_THIRD, WEIGHTED_BASS, Weight.ACCENT, NON_FIG_SEGMENT, 1, REGULAR),
+		new SegmentFeature(FIG_ACCENT_BASS_IS_FIFTH, WEIGHTED_BASS, Weight.ACCENT, NON_FIG_SEGMENT, 2, REGULAR),
+		new SegmentFeature(FIG_ACCENT_BASS_IS_ADDED_NOTE, WEIGHTED_BASS, Weight.ACCENT, NON_FIG_SEGMENT, 3, REGULAR),
+		new SegmentFeature(FIG_ACCENT_SUS_POW_BASS_IS_ROOT, WEIGHTED_BASS, Weight.ACCENT, NON_FIG_SEGMENT, 0, SUS_OR_POW),
+		new SegmentFeature(FIG_ACCENT_SUS_POW_BASS_IS_2ND_OR_4TH, WEIGHTED_BASS, Weight.ACCENT, NON_FIG_SEGMENT, 1, SUS),
+		new SegmentFeature(FIG_ACCENT_SUS_POW_BASS_IS_5TH, WEIGHTED_BASS, Weight.ACCENT, NON_FIG_SEGMENT, 2, SUS_OR_POW),
+		new SegmentFeature(FIG_ACCENT_SUS_POW_BASS_IS_7SUS4_7TH, WEIGHTED_BASS, Weight.ACCENT, NON_FIG_SEGMENT, 3, SEVENTH_SUS4),
+		new SegmentFeature(FIG_ACCENT_BASS_IS_AUG6_BASS, WEIGHTED_BASS, Weight.ACCENT, NON_FIG_SEGMENT, 0, AUG6),
+		new SegmentFeature(FIG_ACCENT_BASS_IS_AUG6_3RD, WEIGHTED_BASS, Weight.ACCENT, NON_FIG_SEGMENT, 1, AUG6),
+		new SegmentFeature(FIG_ACCENT_BASS_IS_AUG6_6TH, WEIGHTED_BASS, Weight.ACCENT, NON_FIG_SEGMENT, 2, AUG6),
+		new SegmentFeature(FIG_ACCENT_BASS_IS_AUG6_5TH, WEIGHTED_BASS, Weight.ACCENT, NON_FIG_SEGMENT, 3, FR_OR_GER)
+	};
+
+	public final FeatureType type;
+	public final Statistic statistic;
+	public final Weight weight;			// null to keep the weighting of the features before it (see SegmentFeaturePlan)
+	public final NoteSet notes;
+	public final int interval;
+	public final ChordClass chords;
+
+	public SegmentFeature(FeatureType type, Statistic statistic, Weight weight, NoteSet notes, int interval, ChordClass chords) {
+		this.type = type;
+		this.statistic = statistic;
+		this.weight = weight;
+		this.notes = notes;
+		this.interval = interval;
+		this.chords = chords;
+	}
+
+}
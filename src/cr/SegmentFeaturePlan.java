@@ -0,0 +1,285 @@
+package cr;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import cr.SegmentFeature.Statistic;
+import cr.WordWeakSemiCRFFeatureManager.FeatureType;
+import cr.WordWeakSemiCRFFeatureManager.Weight;
+
+/**
+ * The enabled features of {@link SegmentFeature#REGISTRY}, compiled into what extracting them takes<br>
+ * The plan keeps the enabled features in registry order with the weighting each of them uses and the
+ * names of their features for the usual values, so the segment features of a label are added in one
+ * pass over it. A feature without a weighting takes that of the last enabled feature before it that
+ * has one (NONE if there is none), which is how the purity features have always been weighted. The plan
+ * is compiled on first use and again after a feature type is enabled or disabled.<br>
+ * What several features read (the non-figuration notes and basses, and which chord notes the segment
+ * covers) is worked out once per segment and label by {@link LabeledSegment}, and only if an enabled
+ * feature reads it; the non-figuration bass of each event once per song and chord (see SegmentCache).
+ */
+public final class SegmentFeaturePlan {
+
+	// also add the feature of every bin below the value (not used by the trained models)
+	public static final boolean OVERLAPPED_CONSISTENCY = false;
+	private static final int[] OVERLAPPED_BINS = {90, 80, 70, 60, 50, 40, 30, 20, 10, 0};
+	private static final int NUM_NAMED_VALUES = 101;	// consistency levels are percentages
+
+	private static volatile SegmentFeaturePlan plan;
+
+	private final int featureTypeChanges;
+	private final SegmentFeature[] features;
+	private final Weight[] weights;
+	private final String[] types;
+	// [feature][value]: name of the feature with this value (for binary features only [feature][0], the type)
+	private final String[][] names;
+	private final String[] values;
+
+	private SegmentFeaturePlan(int featureTypeChanges) {
+		this.featureTypeChanges = featureTypeChanges;
+		List<SegmentFeature> enabled = new ArrayList<SegmentFeature>();
+		List<Weight> enabledWeights = new ArrayList<Weight>();
+		Weight weight = Weight.NONE;
+		for(SegmentFeature feature : SegmentFeature.REGISTRY) {
+			if(feature.type.enabled()) {
+				if(feature.weight != null) {
+					weight = feature.weight;
+				}
+				enabled.add(feature);
+				enabledWeights.add(weight);
+			}
+		}
+		features = enabled.toArray(new SegmentFeature[enabled.size()]);
+		weights = enabledWeights.toArray(new Weight[enabledWeights.size()]);
+
+		values = new String[NUM_NAMED_VALUES];
+		for(int value = 0; value < NUM_NAMED_VALUES; value++) {
+			values[value] = value + "";
+		}
+		types = new String[features.length];
+		names = new String[features.length][];
+		for(int i = 0; i < features.length; i++) {
+			types[i] = features[i].type.name();
+			if(isLevel(features[i].statistic)) {
+				names[i] = new String[NUM_NAMED_VALUES];
+				for(int value = 0; value < NUM_NAMED_VALUES; value++) {
+					names[i][value] = types[i] + "_" + value;
+				}
+			}
+			else {
+				names[i] = new String[]{types[i]};
+			}
+		}
+	}
+
+	/**
+	 * @return the plan of the feature types enabled now
+	 */
+	public static SegmentFeaturePlan get() {
+		int changes = FeatureType.changes();
+		SegmentFeaturePlan current = plan;
+		if(current == null || current.featureTypeChanges != changes) {
+			current = new SegmentFeaturePlan(changes);
+			plan = current;
+		}
+		return current;
+	}
+
+	private static boolean isLevel(Statistic statistic) {
+		switch(statistic) {
+		case CHORD_PURITY:
+		case WEIGHTED_COVERAGE:
+		case SEGMENT_COVERAGE:
+		case WEIGHTED_BASS:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Adds the enabled segment features of this segment and label to features
+	 */
+	public void extract(LabeledSegment segment, WordWeakSemiCRFFeatureManager featureManager, List<Integer> features) {
+		for(int i = 0; i < this.features.length; i++) {
+			SegmentFeature feature = this.features[i];
+			if(!feature.chords.matches(segment.chord)) {
+				continue;
+			}
+			if(isLevel(feature.statistic)) {
+				int level = segment.level(feature, weights[i]);
+				featureManager.addFeature(features, types[i], value(level), name(i, level));
+				if(OVERLAPPED_CONSISTENCY) {
+					for(int bin : OVERLAPPED_BINS) {
+						if(level > bin) {
+							featureManager.addFeature(features, types[i], value(bin), name(i, bin));
+						}
+					}
+				}
+			}
+			else if(feature.statistic == Statistic.BEGINNING_ACCENT) {
+				String accent = WordWeakSemiCRFFeatureManager.beginningAccented(segment.columns, segment.begin) + "";
+				featureManager.addFeature(features, types[i], accent, types[i] + "_" + accent);
+			}
+			else if(segment.holds(feature)) {
+				featureManager.addFeature(features, types[i], "", types[i]);
+			}
+		}
+	}
+
+	private String value(int value) {
+		return (value >= 0 && value < NUM_NAMED_VALUES) ? values[value] : value + "";
+	}
+
+	private String name(int feature, int value) {
+		return (value >= 0 && value < NUM_NAMED_VALUES) ? names[feature][value] : types[feature] + "_" + value;
+	}
+
+	/**
+	 * A segment of a song with the label whose features are extracted<br>
+	 * What the features read besides the song's statistics is worked out when first needed and kept for
+	 * the other features of the same segment and label.
+	 */
+	public static final class LabeledSegment {
+		private final SegmentCache segments;
+		private final SegmentCache.Segment segment;
+		private final SegmentStatistics statistics;
+		private final SongColumns columns;
+		private final int begin;
+		private final int end;
+		private final ChordTemplate chord;
+
+		private List<Note> nonFigNotes;
+		private List<Note> nonFigBassNotes;
+		private Note nonFigFirstBass;
+		private Note nonFigSegmentBass;
+		private int coverageKnown;		// intervals whose coverage was worked out (bit i for interval i)
+		private int covered;			// intervals covered by the notes of the segment
+
+		/**
+		 * @param begin first event of the segment
+		 * @param end event after the last one of the segment
+		 */
+		public LabeledSegment(Song song, int begin, int end, ChordTemplate chord) {
+			this.segments = song.getSegmentCache();
+			this.segment = segments.get(begin, end);
+			this.statistics = song.getSegmentStatistics();
+			this.columns = song.getColumns();
+			this.begin = begin;
+			this.end = end;
+			this.chord = chord;
+		}
+
+		private int level(SegmentFeature feature, Weight weight) {
+			boolean inSegment = (feature.notes == SegmentFeature.NoteSet.SEGMENT);
+			switch(feature.statistic) {
+			case CHORD_PURITY:
+				return inSegment
+						? WordWeakSemiCRFFeatureManager.purity(weight, chord.notes, statistics, begin, end, OVERLAPPED_CONSISTENCY)
+						: WordWeakSemiCRFFeatureManager.purity(weight, chord.root, chord.notes, nonFigNotes(), segment.events, chord.form, OVERLAPPED_CONSISTENCY);
+			case WEIGHTED_COVERAGE:
+				return inSegment
+						? WordWeakSemiCRFFeatureManager.weighted_coverage(weight, chord.addedNote, chord.notes, feature.interval, statistics, begin, end, OVERLAPPED_CONSISTENCY, chord.isReg, chord.isPow, chord.is7sus4)
+						: WordWeakSemiCRFFeatureManager.weighted_coverage(weight, chord.addedNote, chord.notes, feature.interval, nonFigNotes(), segment.events, chord.form, OVERLAPPED_CONSISTENCY, chord.isReg, chord.isPow, chord.is7sus4);
+			case SEGMENT_COVERAGE:
+				return WordWeakSemiCRFFeatureManager.segment_weighted_duration_coverage(weight, chord.addedNote, chord.notes, feature.interval, segment.notes, segment.events, chord.form, OVERLAPPED_CONSISTENCY, chord.isReg, chord.isPow, chord.is7sus4);
+			case WEIGHTED_BASS:
+				return inSegment
+						? WordWeakSemiCRFFeatureManager.weightedBass(weight, chord.addedNote, chord.notes, feature.interval, statistics, begin, end, OVERLAPPED_CONSISTENCY, chord.isReg, chord.isPow, chord.is7sus4)
+						: WordWeakSemiCRFFeatureManager.weightedBass(weight, chord.addedNote, chord.notes, feature.interval, segment.events, nonFigBassNotes(), OVERLAPPED_CONSISTENCY, chord.isReg, chord.isPow, chord.is7sus4);
+			default:
+				throw new IllegalArgumentException("Not a consistency level: " + feature.statistic);
+			}
+		}
+
+		private boolean holds(SegmentFeature feature) {
+			switch(feature.statistic) {
+			case COVERED:
+				return covers(feature.interval);
+			case NOT_COVERED:
+				return !covers(feature.interval);
+			case ALL_COVERED:
+				return allNotesCovered();
+			case LONGER_THAN_ROOT:
+				return WordWeakSemiCRFFeatureManager.durationAddedNoteGreaterThanRoot(chord.notes, segment.notes);
+			case BASS_IS:
+				return WordWeakSemiCRFFeatureManager.bassIsInterval(feature.interval, chord.addedNote, chord.notes, bass(feature.notes), chord.isReg, chord.isPow, chord.is7sus4);
+			default:
+				throw new IllegalArgumentException("Not a binary statistic: " + feature.statistic);
+			}
+		}
+
+		private boolean covers(int interval) {
+			int bit = 1 << interval;
+			if((coverageKnown & bit) == 0) {
+				if(WordWeakSemiCRFFeatureManager.coverage(interval, chord.addedNote, chord.notes, segment.notesMask, chord.form, chord.isReg, chord.isPow, chord.is7sus4)) {
+					covered |= bit;
+				}
+				coverageKnown |= bit;
+			}
+			return (covered & bit) != 0;
+		}
+
+		// a chord note counts as covered only for the chord class its features apply to
+		private boolean covers(SegmentFeature.ChordClass chords, int interval) {
+			return chords.matches(chord) && covers(interval);
+		}
+
+		private boolean allNotesCovered() {
+			boolean rootCovered = covers(SegmentFeature.ChordClass.REGULAR, 0);
+			boolean thirdCovered = covers(SegmentFeature.ChordClass.REGULAR, 1);
+			boolean fifthCovered = covers(SegmentFeature.ChordClass.REGULAR, 2);
+			boolean addedNoteCovered = covers(SegmentFeature.ChordClass.REGULAR, 3);
+			boolean susOrPowRootCovered = covers(SegmentFeature.ChordClass.SUS_OR_POW, 0);
+			boolean susOrPow2ndOr4thCovered = covers(SegmentFeature.ChordClass.SUS, 1);
+			boolean susOrPow5thCovered = covers(SegmentFeature.ChordClass.SUS_OR_POW, 2);
+			boolean dom7sus4_7thCovered = covers(SegmentFeature.ChordClass.SEVENTH_SUS4, 3);
+
+			boolean triadCovered = chord.addedNote.isEmpty() && rootCovered && thirdCovered && fifthCovered;
+			boolean addedNoteChordCovered = !chord.addedNote.isEmpty() && rootCovered && thirdCovered && fifthCovered && addedNoteCovered;
+			boolean powCovered = chord.isPow && susOrPowRootCovered && susOrPow5thCovered;
+			boolean sus2OrSus4Covered = !chord.is7sus4 && susOrPowRootCovered && susOrPow2ndOr4thCovered && susOrPow5thCovered;
+			boolean dom7sus4Covered = susOrPowRootCovered && susOrPow2ndOr4thCovered && susOrPow5thCovered && dom7sus4_7thCovered;
+			boolean aug6Covered = covers(SegmentFeature.ChordClass.AUG6, 0) && covers(SegmentFeature.ChordClass.AUG6, 1) && covers(SegmentFeature.ChordClass.AUG6, 2);
+			if(chord.isFrOrGer && !covers(SegmentFeature.ChordClass.FR_OR_GER, 3)) {
+				aug6Covered = false;
+			}
+			return triadCovered || addedNoteChordCovered || aug6Covered || powCovered || sus2OrSus4Covered || dom7sus4Covered;
+		}
+
+		private Note bass(SegmentFeature.NoteSet notes) {
+			switch(notes) {
+			case FIRST_EVENT:
+				return segment.firstBass;
+			case NON_FIG_FIRST_EVENT:
+				if(nonFigFirstBass == null) {
+					List<Event> firstEvent = segment.events.subList(0, 1);
+					nonFigFirstBass = WordWeakSemiCRFFeatureManager.findBassNote(WordWeakSemiCRFFeatureManager.getNonFigurationNotesInSegment(firstEvent, firstEvent.get(0).notes, segment.previousEvent, segment.secondEvent, chord.notes));
+				}
+				return nonFigFirstBass;
+			case NON_FIG_SEGMENT:
+				if(nonFigSegmentBass == null) {
+					nonFigSegmentBass = WordWeakSemiCRFFeatureManager.findBassNote(nonFigNotes());
+				}
+				return nonFigSegmentBass;
+			default:
+				return segment.segmentBass;
+			}
+		}
+
+		private List<Note> nonFigNotes() {
+			if(nonFigNotes == null) {
+				nonFigNotes = WordWeakSemiCRFFeatureManager.getNonFigurationNotesInSegment(segment.events, segment.notes, segment.previousEvent, segment.nextEvent, chord.notes);
+			}
+			return nonFigNotes;
+		}
+
+		private List<Note> nonFigBassNotes() {
+			if(nonFigBassNotes == null) {
+				nonFigBassNotes = segments.getNonFigBassNotes(begin, end, chord.notes);
+			}
+			return nonFigBassNotes;
+		}
+	}
+
+}
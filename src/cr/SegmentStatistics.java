@@ -0,0 +1,120 @@
+package cr;
+
+import java.util.List;
+
+import cr.WordWeakSemiCRFFeatureManager.Weight;
+
+/**
+ * Cumulative pitch-class histograms of the notes and bass notes of a song, so the weighted histogram
+ * of any segment is a subtraction of two prefix sums instead of a loop over its notes<br>
+ * Bin i (0 to 11) holds the notes of pitch class i, bin NO_PITCH_CLASS the notes without one (which
+ * count in the totals but match no chord note), so a ChordNotes mask selects the bins of its pitch
+ * classes. Each histogram is kept per {@link Weight}: ACCENT sums the accents, DURATION the durations
+ * and NONE counts the notes.<br>
+ * The notes of a segment are those of getNotesInSegment: every note of its first event, and the notes
+ * of the later events that are not held over. A held-over note of the first event weighs 0 by accent
+ * and only the part of its duration inside the segment, which depends on where the segment starts, so
+ * the first event of a segment is read from its own histogram and the rest from the prefix sums of the
+ * notes starting in each event. The bass histograms hold the duration or accent of each event in the
+ * bin of its bass note.
+ */
+public class SegmentStatistics {
+
+	public static final int NUM_BINS = 13;
+	public static final int NO_PITCH_CLASS = 12;
+	public static final int ALL_BINS = (1 << NUM_BINS) - 1;		// mask of every bin, for the totals
+
+	private static final int NUM_WEIGHTS = Weight.values().length;
+
+	// [weight][event][bin]: all notes of the event, weighted as the first event of a segment
+	private final double[][][] firstEvent;
+	// [weight][event][bin]: the notes not held over in the events before this one
+	private final double[][][] startingNotes;
+	// [weight][event][bin]: the events before this one by their bass note
+	private final double[][][] bass;
+
+	public SegmentStatistics(List<Event> events, SongColumns columns) {
+		int numEvents = columns.numEvents();
+		firstEvent = new double[NUM_WEIGHTS][numEvents][NUM_BINS];
+		startingNotes = new double[NUM_WEIGHTS][numEvents + 1][NUM_BINS];
+		bass = new double[NUM_WEIGHTS][numEvents + 1][NUM_BINS];
+
+		int accent = Weight.ACCENT.ordinal();
+		int duration = Weight.DURATION.ordinal();
+		int count = Weight.NONE.ordinal();
+		for(int e = 0; e < numEvents; e++) {
+			for(int w = 0; w < NUM_WEIGHTS; w++) {
+				System.arraycopy(startingNotes[w][e], 0, startingNotes[w][e + 1], 0, NUM_BINS);
+				System.arraycopy(bass[w][e], 0, bass[w][e + 1], 0, NUM_BINS);
+			}
+			for(int n = columns.noteStart[e]; n < columns.noteStart[e + 1]; n++) {
+				int bin = toBin(columns.notePitchClass[n]);
+				if(columns.noteFromPrevious[n]) {
+					firstEvent[duration][e][bin] += columns.noteDuration[n] - (columns.eventOnset[e] - columns.noteOnset[n]);
+				}
+				else {
+					firstEvent[accent][e][bin] += columns.noteAccent[n];
+					firstEvent[duration][e][bin] += columns.noteDuration[n];
+					startingNotes[accent][e + 1][bin] += columns.noteAccent[n];
+					startingNotes[duration][e + 1][bin] += columns.noteDuration[n];
+					startingNotes[count][e + 1][bin] += 1.0;
+				}
+				firstEvent[count][e][bin] += 1.0;
+			}
+			int bassBin = toBin(WordWeakSemiCRFFeatureManager.findBassNote(events.get(e).notes).pitchClass);
+			bass[accent][e + 1][bassBin] += columns.eventAccent[e];
+			bass[duration][e + 1][bassBin] += columns.eventDuration[e];
+			bass[count][e + 1][bassBin] += 1.0;
+		}
+	}
+
+	private static int toBin(int pitchClass) {
+		return (pitchClass >= 0 && pitchClass < NO_PITCH_CLASS) ? pitchClass : NO_PITCH_CLASS;
+	}
+
+	/**
+	 * @return the weight of the notes of the segment [begin, end) in the bins of mask
+	 */
+	public double noteWeight(Weight weight, int begin, int end, int mask) {
+		double[] first = firstEvent[weight.ordinal()][begin];
+		double[] upToEnd = startingNotes[weight.ordinal()][end];
+		double[] upToSecond = startingNotes[weight.ordinal()][begin + 1];
+		double sum = 0.0;
+		for(int bin = 0; bin < NUM_BINS; bin++) {
+			if((mask & (1 << bin)) != 0) {
+				sum += first[bin] + (upToEnd[bin] - upToSecond[bin]);
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * @return the number of notes of the segment [begin, end) in the bins of mask
+	 */
+	public int countNotes(int begin, int end, int mask) {
+		return (int)noteWeight(Weight.NONE, begin, end, mask);
+	}
+
+	/**
+	 * @return the duration or accent (or number, for NONE) of the events of [begin, end) whose bass note is in the bins of mask
+	 */
+	public double bassWeight(Weight weight, int begin, int end, int mask) {
+		double[] upToEnd = bass[weight.ordinal()][end];
+		double[] upToBegin = bass[weight.ordinal()][begin];
+		double sum = 0.0;
+		for(int bin = 0; bin < NUM_BINS; bin++) {
+			if((mask & (1 << bin)) != 0) {
+				sum += upToEnd[bin] - upToBegin[bin];
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * @return the number of events of [begin, end) whose bass note is in the bins of mask
+	 */
+	public int countBass(int begin, int end, int mask) {
+		return (int)bassWeight(Weight.NONE, begin, end, mask);
+	}
+
+}
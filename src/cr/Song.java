@@ -4,11 +4,17 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import com.statnlp.example.base.BaseInstance;
 
-import static cr.SongUtil.simplifyLabel;
-import static cr.SongUtil.normalizeEnharmonicChords;
+import static cr.SongUtil.normalizeLabel;
 
 import cr.CRMain.Simplify;
 import nu.xom.Element;
@@ -22,6 +28,11 @@ public class Song extends BaseInstance<Song, List<Event>, List<Span>> {
 	public List<WordLabel> outputTokenized;		// tokenized output
 	public List<WordLabel> predictionTokenized; // tokenized predictions
 	public double length;						// total length of song in quarterLength
+	private transient List<String> tagForms;			// normalized event tags waiting for internLabels()
+	private transient List<String> chordLabelForms;		// normalized segment labels waiting for internLabels()
+	private transient SongColumns columns;				// column copy of input, built on first use
+	private transient SegmentCache segmentCache;		// label-independent facts of the segments the features asked for
+	private transient SegmentStatistics statistics;		// pitch-class prefix sums of the notes, built on first use
 	
 	public Song() {
 		this(1, 1.0, new ArrayList<Event>(), new ArrayList<Span>(), "", 0.0);
@@ -68,6 +79,8 @@ public class Song extends BaseInstance<Song, List<Event>, List<Span>> {
 	
 	public static Song parseXML(Element element, int instanceId, Simplify simplification, boolean normalizeEnharmonics) throws IOException {
 		Song song = new Song(instanceId);
+		song.tagForms = new ArrayList<String>();
+		song.chordLabelForms = new ArrayList<String>();
 		String tag;
 		
 		// weight as 1.0?
@@ -76,25 +89,95 @@ public class Song extends BaseInstance<Song, List<Event>, List<Span>> {
 //		System.out.println("Title: " + song.title + ", Length: " + song.length);
 		
 		Elements events = element.getFirstChildElement("events").getChildElements();
+		// the notes of the previous event by pitch, for the onsets of tied notes
+		Map<String, Note> previousNotes = null;
 		for (int i = 0; i < events.size(); i++) {
-			if(i == 0) {
-				song.input.add(Event.parseXML(events.get(i), null));
-			}
-			else {
-				song.input.add(Event.parseXML(events.get(i), song.input.get(i - 1)));
-			}
+			Map<String, Note> notesByPitch = new HashMap<String, Note>();
+			song.input.add(Event.parseXML(events.get(i), previousNotes, notesByPitch));
+			previousNotes = notesByPitch;
 			tag = events.get(i).getFirstChildElement("tag").getValue().trim();
-			song.outputTokenized.add(WordLabel.get(normalizeEnharmonicChords(simplifyLabel(tag, simplification), normalizeEnharmonics)));
+			song.tagForms.add(normalizeLabel(tag, simplification, normalizeEnharmonics));
 		}
 		
 		Elements segments = element.getFirstChildElement("segments").getChildElements();
 		for (int i = 0; i < segments.size(); i++) {
-			song.output.add(Span.parseXML(segments.get(i), simplification, normalizeEnharmonics));
+			song.output.add(Span.parseXML(segments.get(i), simplification, normalizeEnharmonics, song.chordLabelForms));
 		}
 		
 		return song;
 	}
 	
+	public static Song parseXML(XMLStreamReader reader, int instanceId, Simplify simplification, boolean normalizeEnharmonics) throws IOException, XMLStreamException {
+		Song song = new Song(instanceId);
+		song.tagForms = new ArrayList<String>();
+		song.chordLabelForms = new ArrayList<String>();
+		List<String> tags = new ArrayList<String>();
+		
+		// reader starts on <song> and finishes on </song>
+		while(reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			switch(reader.getLocalName()) {
+			case "title":
+				song.title = reader.getElementText();
+				break;
+			case "length":
+				song.length = Double.parseDouble(reader.getElementText());
+				break;
+			case "events":
+				Map<String, Note> previousNotes = null;
+				while(reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+					Map<String, Note> notesByPitch = new HashMap<String, Note>();
+					song.input.add(Event.parseXML(reader, previousNotes, notesByPitch, tags));
+					previousNotes = notesByPitch;
+				}
+				break;
+			case "segments":
+				while(reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+					song.output.add(Span.parseXML(reader, simplification, normalizeEnharmonics, song.chordLabelForms));
+				}
+				break;
+			default:
+				SongUtil.skipElement(reader);
+			}
+		}
+		
+		for(String tag : tags) {
+			song.tagForms.add(normalizeLabel(tag, simplification, normalizeEnharmonics));
+		}
+		
+		return song;
+	}
+	
+	// for songs built outside parseXML (e.g. from a SongCorpus)
+	void setLabelForms(List<String> tagForms, List<String> chordLabelForms) {
+		this.tagForms = tagForms;
+		this.chordLabelForms = chordLabelForms;
+	}
+	
+	// label forms of an event tag or a segment, before or after internLabels()
+	String getTagForm(int eventIndex) {
+		return tagForms != null ? tagForms.get(eventIndex) : outputTokenized.get(eventIndex).form;
+	}
+	
+	String getChordLabelForm(int segmentIndex) {
+		return chordLabelForms != null ? chordLabelForms.get(segmentIndex) : output.get(segmentIndex).label.form;
+	}
+	
+	/**
+	 * Register the event tags and segment labels read by parseXML with WordLabel and SpanLabel.<br>
+	 * Parsing never touches the label tables, so songs can be parsed on any thread; calling this
+	 * on the songs in file order assigns the same label ids as a sequential load.
+	 */
+	public void internLabels() {
+		for(String tag : tagForms) {
+			outputTokenized.add(WordLabel.get(tag));
+		}
+		for(int i = 0; i < output.size(); i++) {
+			output.get(i).label = SpanLabel.get(chordLabelForms.get(i));
+		}
+		tagForms = null;
+		chordLabelForms = null;
+	}
+	
 	public void setPredictionTokenized(List<WordLabel> predictionTokenized){
 		this.predictionTokenized = predictionTokenized;
 		if(predictionTokenized == null){
@@ -135,6 +218,30 @@ public class Song extends BaseInstance<Song, List<Event>, List<Span>> {
 		return input;
 	}
 	
+	/**
+	 * @return the events and notes of this song as primitive columns (built once, read-only)
+	 */
+	public SongColumns getColumns() {
+		if(columns == null) {
+			columns = new SongColumns(getInputTokenized());
+		}
+		return columns;
+	}
+	
+	public synchronized SegmentStatistics getSegmentStatistics() {
+		if(statistics == null) {
+			statistics = new SegmentStatistics(getInputTokenized(), getColumns());
+		}
+		return statistics;
+	}
+	
+	public synchronized SegmentCache getSegmentCache() {
+		if(segmentCache == null) {
+			segmentCache = new SegmentCache(getInputTokenized());
+		}
+		return segmentCache;
+	}
+	
 	public List<WordLabel> getOutputTokenized(){
 		if(outputTokenized == null){
 			throw new RuntimeException("Output not yet tokenized.");
@@ -0,0 +1,190 @@
+package cr;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Many song files in one file<br>
+ * The archive is the gzip-compressed song files one after another (so zcat prints the XML documents
+ * back to back); archive.idx lists "offset length path" for each member. Members are looked up by
+ * their path as the fold files list it (made absolute), so the fold files do not have to change, and
+ * songs with the same file name in different directories stay apart.<br>
+ * The archive is memory-mapped read-only (so it must be smaller than 2 GB) and members are read
+ * straight from the mapping.<br>
+ * Usage: java cr.SongArchive &lt;archive file&gt; &lt;fold file or song file&gt;...
+ */
+public class SongArchive {
+
+	private final ByteBuffer archive;
+	private final Map<String, long[]> members = new HashMap<String, long[]>();
+
+	private SongArchive(String filename) throws IOException {
+		BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(filename + ".idx"), "UTF-8"));
+		try {
+			String line;
+			while((line = br.readLine()) != null) {
+				if(line.isEmpty()) {
+					continue;
+				}
+				String[] fields = line.split(" ", 3);
+				members.put(fields[2], new long[]{Long.parseLong(fields[0]), Long.parseLong(fields[1])});
+			}
+		} finally {
+			br.close();
+		}
+		// the mapping stays valid once the file is closed
+		RandomAccessFile file = new RandomAccessFile(filename, "r");
+		try {
+			FileChannel channel = file.getChannel();
+			if(channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Song archive " + filename + " is larger than 2 GB");
+			}
+			archive = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} finally {
+			file.close();
+		}
+		for(long[] member : members.values()) {
+			if(member[0] + member[1] > archive.capacity()) {
+				throw new IOException("Song archive " + filename + " is truncated");
+			}
+		}
+	}
+
+	public static SongArchive open(String filename) throws IOException {
+		return new SongArchive(filename);
+	}
+
+	/**
+	 * @return a stream of the compressed bytes of the member packed from this path, or null if there is none
+	 */
+	public InputStream getMember(String songFilename) {
+		long[] member = members.get(memberName(songFilename));
+		if(member == null) {
+			return null;
+		}
+		// a view per stream, so members can be read on several loader threads
+		ByteBuffer slice = archive.duplicate();
+		slice.position((int) member[0]);
+		slice.limit((int) (member[0] + member[1]));
+		return new MemberInputStream(slice.slice());
+	}
+
+	// members are keyed by the absolute path of the song file, so relative and absolute listings of a file agree
+	private static String memberName(String songFilename) {
+		return new File(songFilename).toPath().toAbsolutePath().normalize().toString();
+	}
+
+	/**
+	 * @throws IOException also if a song file is listed twice
+	 */
+	public static void write(List<String> songFiles, String filename) throws IOException {
+		Set<String> names = new HashSet<String>();
+		for(String songFile : songFiles) {
+			if(!names.add(memberName(songFile))) {
+				throw new IOException(songFile + " is listed twice");
+			}
+		}
+
+		OutputStream out = new FileOutputStream(filename);
+		PrintStream index = new PrintStream(new FileOutputStream(filename + ".idx"), false, "UTF-8");
+		try {
+			long offset = 0;
+			for(String songFile : songFiles) {
+				byte[] content = Files.readAllBytes(new File(songFile).toPath());
+				if(!SongUtil.isGzipped(content)) {
+					ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 8);
+					GZIPOutputStream gzip = new GZIPOutputStream(compressed);
+					gzip.write(content);
+					gzip.close();
+					content = compressed.toByteArray();
+				}
+				out.write(content);
+				index.println(offset + " " + content.length + " " + memberName(songFile));
+				offset += content.length;
+			}
+		} finally {
+			out.close();
+			index.close();
+		}
+	}
+
+	private static class MemberInputStream extends InputStream {
+
+		private final ByteBuffer member;
+
+		MemberInputStream(ByteBuffer member) {
+			this.member = member;
+		}
+
+		@Override
+		public int read() {
+			return member.hasRemaining() ? member.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if(length == 0) {
+				return 0;
+			}
+			if(!member.hasRemaining()) {
+				return -1;
+			}
+			length = Math.min(length, member.remaining());
+			member.get(bytes, offset, length);
+			return length;
+		}
+
+		@Override
+		public int available() {
+			return member.remaining();
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		if(args.length < 2) {
+			System.err.println("Usage: java cr.SongArchive <archive file> <fold file or song file>...");
+			System.exit(1);
+		}
+
+		// the folds overlap (a song is in the training set of every fold but its own), so each member is packed once
+		Set<String> songFiles = new LinkedHashSet<String>();
+		for(int i = 1; i < args.length; i++) {
+			if(args[i].endsWith(".xml") || args[i].endsWith(".gz") || MusicXMLReader.isMusicXML(args[i])) {
+				songFiles.add(memberName(args[i]));
+			}
+			else {
+				BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(args[i]), "UTF-8"));
+				String line;
+				while((line = br.readLine()) != null) {
+					if(!line.trim().isEmpty()) {
+						songFiles.add(memberName(line.trim()));
+					}
+				}
+				br.close();
+			}
+		}
+
+		write(new ArrayList<String>(songFiles), args[0]);
+		System.out.println("Wrote " + songFiles.size() + " songs to " + args[0]);
+	}
+}
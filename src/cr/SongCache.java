@@ -0,0 +1,98 @@
+package cr;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import cr.CRMain.Simplify;
+
+/**
+ * A directory of parsed songs shared by every run that reads the same XML files with the same options<br>
+ * Entries are named after the SHA-256 of the song file (as stored, possibly compressed), the reader that parsed it,
+ * {@link #READER_VERSION}, the Simplify mode, normalizeEnharmonics and {@link #VOCABULARY_VERSION}, and hold the song as a one-song {@link SongCorpus} with its labels
+ * already simplified and normalized. Entries are written to a temporary file and renamed into place,
+ * so several JVMs can share one directory.
+ */
+public class SongCache {
+
+	// bump when simplifyLabel, normalizeEnharmonicChords or the label vocabulary change, so old entries are not reused
+	public static final int VOCABULARY_VERSION = 1;
+	// bump when the XOM, StAX or MusicXML reader changes the songs it produces (events, notes, onsets, accents)
+	public static final int READER_VERSION = 2;
+
+	private final File directory;
+	private final AtomicBoolean writeFailed = new AtomicBoolean();
+
+	public SongCache(String directory) throws IOException {
+		this.directory = new File(directory);
+		if(!this.directory.isDirectory() && !this.directory.mkdirs()) {
+			throw new IOException("Could not create song cache directory " + directory);
+		}
+	}
+
+	/**
+	 * @param reader the reader that parses the file, e.g. "xom", "stax" or "musicxml"
+	 * @return the name of the cache entry for the song file with this content read with these options
+	 */
+	public String key(byte[] songFile, String reader, Simplify simplification, boolean normalizeEnharmonics) throws IOException {
+		byte[] hash;
+		try {
+			hash = MessageDigest.getInstance("SHA-256").digest(songFile);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+
+		StringBuilder key = new StringBuilder();
+		for(byte b : hash) {
+			key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		key.append('-').append(reader).append("-r").append(READER_VERSION);
+		key.append('-').append(simplification).append('-').append(normalizeEnharmonics ? "normalized" : "raw").append("-v").append(VOCABULARY_VERSION);
+		return key.toString();
+	}
+
+	/**
+	 * The song is built by {@link SongCorpus#getSong}, so it gives the same features as the song parsed from
+	 * its file (see LoaderCheck).
+	 * @return the cached song (labels not yet interned), or null if there is no usable entry
+	 */
+	public Song get(String key, int instanceId) {
+		File entry = new File(directory, key + ".bin");
+		if(!entry.isFile()) {
+			return null;
+		}
+		try {
+			// labels were normalized before they were cached
+			return SongCorpus.open(entry.getPath()).getSong(0, instanceId, Simplify.NONE, false);
+		} catch (IOException e) {
+			// unreadable or from an older format: parse again and overwrite it
+			return null;
+		}
+	}
+
+	/**
+	 * Store a parsed song. The cache only saves parsing, so a song that cannot be written (full disk,
+	 * read-only directory, failed rename) is left out with a warning, printed once, instead of failing the load.
+	 */
+	public void put(String key, String songFilename, Song song) {
+		File temp = null;
+		try {
+			temp = File.createTempFile(key, ".tmp", directory);
+			SongCorpus.write(Collections.singletonList(song), Collections.singletonList(new File(songFilename).getName()), temp.getPath());
+			Files.move(temp.toPath(), new File(directory, key + ".bin").toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			if(!writeFailed.getAndSet(true)) {
+				System.err.println("Could not write to song cache " + directory + " (" + e + "), songs are parsed without it");
+			}
+		} finally {
+			if(temp != null) {
+				temp.delete();
+			}
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package cr;
+
+import java.util.List;
+
+/**
+ * An immutable column-per-field copy of the events and notes of a song<br>
+ * Event e owns notes noteStart[e] to noteStart[e+1]-1 (in the order of event.notes), so the loops over
+ * every event of a song (SegmentStatistics, CandidateLabels, BoundaryModel and the accent feature) walk
+ * primitive arrays instead of Event and Note objects.<br>
+ * This is a copy for cache locality, not a replacement: the figuration, bass and coverage helpers of the
+ * feature manager still read Event and Note, so the object graph stays in memory and the columns add to
+ * it. Only the fields those loops read are copied.
+ */
+public class SongColumns {
+
+	// event columns
+	final double[] eventOnset;
+	final double[] eventDuration;
+	final double[] eventAccent;
+	final int[] eventMeasureNumber;
+	final int[] noteStart;
+
+	// note columns (see Note for the meaning of the pitch fields)
+	final int[] notePitchClass;
+	final int[] noteSemitone;
+	final double[] noteDuration;
+	final double[] noteAccent;
+	final double[] noteOnset;
+	final boolean[] noteFromPrevious;
+
+	public SongColumns(List<Event> events) {
+		int numEvents = events.size();
+		eventOnset = new double[numEvents];
+		eventDuration = new double[numEvents];
+		eventAccent = new double[numEvents];
+		eventMeasureNumber = new int[numEvents];
+		noteStart = new int[numEvents + 1];
+
+		int numNotes = 0;
+		for(int e = 0; e < numEvents; e++) {
+			Event event = events.get(e);
+			eventOnset[e] = event.onset;
+			eventDuration[e] = event.duration;
+			eventAccent[e] = event.accent;
+			eventMeasureNumber[e] = event.measureNumber;
+			noteStart[e] = numNotes;
+			numNotes += event.notes.size();
+		}
+		noteStart[numEvents] = numNotes;
+
+		notePitchClass = new int[numNotes];
+		noteSemitone = new int[numNotes];
+		noteDuration = new double[numNotes];
+		noteAccent = new double[numNotes];
+		noteOnset = new double[numNotes];
+		noteFromPrevious = new boolean[numNotes];
+
+		int n = 0;
+		for(Event event : events) {
+			for(Note note : event.notes) {
+				notePitchClass[n] = note.pitchClass;
+				noteSemitone[n] = note.semitone;
+				noteDuration[n] = note.duration;
+				noteAccent[n] = note.accent;
+				noteOnset[n] = note.onset;
+				noteFromPrevious[n] = note.fromPrevious;
+				n++;
+			}
+		}
+	}
+
+	public int numEvents() {
+		return eventOnset.length;
+	}
+
+	public int numNotes() {
+		return notePitchClass.length;
+	}
+
+	public double getEventOnset(int event) {
+		return eventOnset[event];
+	}
+
+	public double getEventDuration(int event) {
+		return eventDuration[event];
+	}
+
+	public double getEventAccent(int event) {
+		return eventAccent[event];
+	}
+
+	public int getEventMeasureNumber(int event) {
+		return eventMeasureNumber[event];
+	}
+
+	public int getFirstNote(int event) {
+		return noteStart[event];
+	}
+
+	// one past the last note of the event
+	public int getEndNote(int event) {
+		return noteStart[event + 1];
+	}
+
+	public int getPitchClass(int note) {
+		return notePitchClass[note];
+	}
+
+	public int getSemitone(int note) {
+		return noteSemitone[note];
+	}
+
+	public double getNoteDuration(int note) {
+		return noteDuration[note];
+	}
+
+	public double getNoteAccent(int note) {
+		return noteAccent[note];
+	}
+
+	public double getNoteOnset(int note) {
+		return noteOnset[note];
+	}
+
+	public boolean isFromPrevious(int note) {
+		return noteFromPrevious[note];
+	}
+
+	/**
+	 * Whether the note counts as a note of the segment starting at event begin: every note of the
+	 * first event, and the notes of later events that are not held over (see getNotesInSegment)
+	 */
+	boolean isSegmentNote(int note, int begin) {
+		return note < noteStart[begin + 1] || !noteFromPrevious[note];
+	}
+}
@@ -0,0 +1,511 @@
+package cr;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.stream.XMLStreamException;
+
+import cr.CRMain.Simplify;
+import nu.xom.ParsingException;
+
+/**
+ * A packed binary copy of a set of annotated_events XML files<br>
+ * Every song is stored as fixed-width columns (events, notes and segments), strings go into one
+ * shared table, and an index maps song titles and source file names to records. The file is
+ * memory-mapped read-only and Song objects are only built when they are asked for, so re-reading
+ * a corpus costs page-cache hits instead of XML parsing.<br>
+ * Titles and file names must be unique within a corpus. The index also keeps the size, modification
+ * time and a hash of each source file, so a song whose XML file changed after packing (or another file
+ * with the same name) can be told apart from the packed one with {@link #isCurrent(int, String)}; the
+ * file is only read for its hash if its size matches but its time does not.<br>
+ * Event tags and chord labels are stored as they appear in the XML; simplification and enharmonic
+ * normalization are applied on load, so one corpus file serves every option set.<br>
+ * Usage: java cr.SongCorpus &lt;output file&gt; &lt;fold file or .xml file&gt;...
+ */
+public class SongCorpus {
+
+	private static final int MAGIC = 0x43524350;		// "CRCP"
+	private static final int VERSION = 3;
+	private static final int HEADER_SIZE = 32;
+	private static final int INDEX_ENTRY_SIZE = 40;
+	private static final long UNKNOWN_SOURCE = -1;		// source size of songs packed without their source file
+
+	private final MappedByteBuffer buffer;
+	private final String[] strings;
+	private final long[] recordOffsets;
+	private final int[] titleIds;
+	private final long[] sourceSizes;
+	private final long[] sourceModified;
+	private final long[] sourceHashes;
+	private final Map<String, Integer> titleIndex = new HashMap<String, Integer>();
+	private final Map<String, Integer> fileIndex = new HashMap<String, Integer>();
+
+	private SongCorpus(MappedByteBuffer buffer) throws IOException {
+		this.buffer = buffer;
+		if(buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+			throw new IOException("Not a song corpus file (or written by another version)");
+		}
+		int numSongs = buffer.getInt(8);
+		int numStrings = buffer.getInt(12);
+		int stringsOffset = (int) buffer.getLong(16);
+		int indexOffset = (int) buffer.getLong(24);
+
+		// the string table is small, so decode it once
+		strings = new String[numStrings];
+		int position = stringsOffset;
+		for(int i = 0; i < numStrings; i++) {
+			int length = buffer.getInt(position);
+			byte[] bytes = new byte[length];
+			ByteBuffer view = buffer.duplicate();
+			view.position(position + 4);
+			view.get(bytes);
+			strings[i] = new String(bytes, StandardCharsets.UTF_8);
+			position += 4 + length;
+		}
+
+		// index by title and by source file name
+		recordOffsets = new long[numSongs];
+		titleIds = new int[numSongs];
+		sourceSizes = new long[numSongs];
+		sourceModified = new long[numSongs];
+		sourceHashes = new long[numSongs];
+		for(int i = 0; i < numSongs; i++) {
+			int entry = indexOffset + i * INDEX_ENTRY_SIZE;
+			titleIds[i] = buffer.getInt(entry);
+			int sourceId = buffer.getInt(entry + 4);
+			recordOffsets[i] = buffer.getLong(entry + 8);
+			sourceSizes[i] = buffer.getLong(entry + 16);
+			sourceModified[i] = buffer.getLong(entry + 24);
+			sourceHashes[i] = buffer.getLong(entry + 32);
+			titleIndex.put(strings[titleIds[i]], i);
+			fileIndex.put(strings[sourceId], i);
+		}
+	}
+
+	/**
+	 * Memory-map a corpus file written by {@link #write(List, String)}
+	 */
+	public static SongCorpus open(String filename) throws IOException {
+		RandomAccessFile file = new RandomAccessFile(filename, "r");
+		try {
+			FileChannel channel = file.getChannel();
+			if(channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Song corpus is too large to be mapped: " + filename);
+			}
+			return new SongCorpus(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		} finally {
+			file.close();
+		}
+	}
+
+	public int size() {
+		return recordOffsets.length;
+	}
+
+	public String getTitle(int index) {
+		return strings[titleIds[index]];
+	}
+
+	/**
+	 * @return the index of the song with this title, or -1 if it is not in this corpus
+	 */
+	public int indexOfTitle(String title) {
+		Integer index = titleIndex.get(title);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Find a song by the path of its XML file (as listed in fold files) or its file name<br>
+	 * Only the file name is compared, so check with {@link #isCurrent(int, String)} that the file at
+	 * this path is the one that was packed.
+	 * @return the index of the song, or -1 if it is not in this corpus
+	 */
+	public int indexOfFile(String path) {
+		Integer index = fileIndex.get(new File(path).getName());
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * @return false if there is a file at this path that is not the source the song at the given index
+	 * was packed from (an edited song, or another song with the same file name); true if it is, or if
+	 * there is no such file to compare with
+	 */
+	public boolean isCurrent(int index, String path) throws IOException {
+		File source = new File(path);
+		if(sourceSizes[index] == UNKNOWN_SOURCE || !source.isFile()) {
+			return true;
+		}
+		if(source.length() != sourceSizes[index]) {
+			return false;
+		}
+		if(source.lastModified() == sourceModified[index]) {
+			return true;
+		}
+		// touched or copied since it was packed: only the content tells
+		return hash(Files.readAllBytes(source.toPath())) == sourceHashes[index];
+	}
+
+	/**
+	 * @return the first 64 bits of the SHA-256 of a source file
+	 */
+	static long hash(byte[] content) throws IOException {
+		try {
+			return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(content)).getLong();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Build the song at the given index.<br>
+	 * Like Song.parseXML, this does not register labels; call {@link Song#internLabels()} afterwards.
+	 */
+	public Song getSong(int index, int instanceId, Simplify simplification, boolean normalizeEnharmonics) throws IOException {
+		// absolute reads on a private view, so songs can be built on several threads
+		ByteBuffer record = buffer.duplicate();
+		int position = (int) recordOffsets[index];
+
+		Song song = new Song(instanceId);
+		song.title = getTitle(index);
+		song.length = record.getDouble(position);
+		int numEvents = record.getInt(position + 8);
+		int numNotes = record.getInt(position + 12);
+		int numSegments = record.getInt(position + 16);
+		position += 20;
+
+		// event columns
+		int eventOnsets = position;
+		int eventDurations = eventOnsets + 8 * numEvents;
+		int eventAccents = eventDurations + 8 * numEvents;
+		int measureNumbers = eventAccents + 8 * numEvents;
+		int tagIds = measureNumbers + 4 * numEvents;
+		int noteStarts = tagIds + 4 * numEvents;
+
+		// note columns
+		int noteOnsets = noteStarts + 4 * (numEvents + 1);
+		int noteDurations = noteOnsets + 8 * numNotes;
+		int noteAccents = noteDurations + 8 * numNotes;
+		int pitchIds = noteAccents + 8 * numNotes;
+		int fromPrevious = pitchIds + 4 * numNotes;
+
+		// segment columns
+		int segmentOnsets = fromPrevious + numNotes;
+		int segmentOffsets = segmentOnsets + 8 * numSegments;
+		int segmentStarts = segmentOffsets + 8 * numSegments;
+		int segmentStops = segmentStarts + 4 * numSegments;
+		int labelIds = segmentStops + 4 * numSegments;
+
+		List<String> tagForms = new ArrayList<String>(numEvents);
+		for(int i = 0; i < numEvents; i++) {
+			int firstNote = record.getInt(noteStarts + 4 * i);
+			int lastNote = record.getInt(noteStarts + 4 * (i + 1));
+			List<Note> notes = new ArrayList<Note>(lastNote - firstNote);
+			for(int j = firstNote; j < lastNote; j++) {
+				// a pitch string of its own, as parsing the XML gives: Note.equals compares pitches by identity,
+				// and the features remove notes from segment copies with it
+				notes.add(new Note(new String(strings[record.getInt(pitchIds + 4 * j)]), record.getDouble(noteDurations + 8 * j), record.get(fromPrevious + j) != 0, record.getDouble(noteAccents + 8 * j), record.getDouble(noteOnsets + 8 * j)));
+			}
+			song.input.add(new Event(record.getDouble(eventOnsets + 8 * i), record.getDouble(eventDurations + 8 * i), record.getInt(measureNumbers + 4 * i), record.getDouble(eventAccents + 8 * i), notes));
+			tagForms.add(SongUtil.normalizeLabel(strings[record.getInt(tagIds + 4 * i)], simplification, normalizeEnharmonics));
+		}
+
+		List<String> chordLabelForms = new ArrayList<String>(numSegments);
+		for(int i = 0; i < numSegments; i++) {
+			song.output.add(new Span(record.getDouble(segmentOnsets + 8 * i), record.getDouble(segmentOffsets + 8 * i), record.getInt(segmentStarts + 4 * i), record.getInt(segmentStops + 4 * i), null));
+			chordLabelForms.add(SongUtil.normalizeLabel(strings[record.getInt(labelIds + 4 * i)], simplification, normalizeEnharmonics));
+		}
+
+		song.setLabelForms(tagForms, chordLabelForms);
+		return song;
+	}
+
+	/**
+	 * Parse the given annotated_events XML files and write them into one corpus file
+	 */
+	public static void write(List<String> songFiles, String filename) throws IOException {
+		List<Song> songs = new ArrayList<Song>();
+		List<String> sourceNames = new ArrayList<String>();
+		long[] sourceSizes = new long[songFiles.size()];
+		long[] sourceModified = new long[songFiles.size()];
+		long[] sourceHashes = new long[songFiles.size()];
+		for(String songFile : songFiles) {
+			byte[] content = Files.readAllBytes(new File(songFile).toPath());
+			sourceSizes[songs.size()] = content.length;
+			sourceModified[songs.size()] = new File(songFile).lastModified();
+			sourceHashes[songs.size()] = hash(content);
+			// keep tags and chord labels exactly as they are in the XML
+			try {
+				songs.add(SongUtil.readSong(songFile, songs.size() + 1, Simplify.NONE, false));
+			} catch (ParsingException | XMLStreamException e) {
+				throw new IOException("Malformed song file " + songFile + ": " + e.getMessage(), e);
+			}
+			sourceNames.add(new File(songFile).getName());
+			System.out.println(songs.get(songs.size() - 1).title);
+		}
+		write(songs, sourceNames, sourceSizes, sourceModified, sourceHashes, filename);
+	}
+
+	/**
+	 * Write already parsed songs into one corpus file, without their source files (so
+	 * {@link #isCurrent(int, String)} always holds for them)
+	 */
+	public static void write(List<Song> songs, List<String> sourceNames, String filename) throws IOException {
+		long[] unknown = new long[songs.size()];
+		Arrays.fill(unknown, UNKNOWN_SOURCE);
+		write(songs, sourceNames, unknown, new long[songs.size()], new long[songs.size()], filename);
+	}
+
+	/**
+	 * Write already parsed songs into one corpus file.<br>
+	 * Labels are stored as they are in the songs; the simplification and normalization passed to
+	 * {@link #getSong} are applied on top of them. The corpus is written to a temporary file next to
+	 * filename and then moved there, so runs that open the file at the same time never see it half written.
+	 * @param sourceNames the file name each song is looked up by (normally its XML file name)
+	 * @param sourceSizes the size of each song's source file, or UNKNOWN_SOURCE
+	 * @param sourceModified the modification time of each song's source file
+	 * @param sourceHashes the {@link #hash} of each song's source file, read when the size matches but not the time
+	 * @throws IOException also if two songs have the same title or file name, or if the corpus would be
+	 * too large to be mapped
+	 */
+	public static void write(List<Song> songs, List<String> sourceNames, long[] sourceSizes, long[] sourceModified, long[] sourceHashes, String filename) throws IOException {
+		// the index could only find one of them
+		Map<String, Integer> titles = new HashMap<String, Integer>();
+		Map<String, Integer> names = new HashMap<String, Integer>();
+		for(int i = 0; i < songs.size(); i++) {
+			Integer other = titles.put(songs.get(i).title, i);
+			if(other != null) {
+				throw new IOException("Songs " + sourceNames.get(other) + " and " + sourceNames.get(i) + " have the same title " + songs.get(i).title);
+			}
+			other = names.put(sourceNames.get(i), i);
+			if(other != null) {
+				throw new IOException("Two songs have the same file name " + sourceNames.get(i));
+			}
+		}
+
+		List<String> strings = new ArrayList<String>();
+		Map<String, Integer> stringIds = new HashMap<String, Integer>();
+		List<int[]> indexEntries = new ArrayList<int[]>();
+		List<Long> recordOffsets = new ArrayList<Long>();
+
+		File target = new File(filename).getAbsoluteFile();
+		File temp = File.createTempFile(target.getName(), ".tmp", target.getParentFile());
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+		try {
+			// header, with the string table and index offsets filled in at the end
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(songs.size());
+			out.writeInt(0);
+			out.writeLong(0);
+			out.writeLong(0);
+
+			// DataOutputStream.size() stops at Integer.MAX_VALUE, so the offsets are counted here
+			long position = HEADER_SIZE;
+			for(int i = 0; i < songs.size(); i++) {
+				Song song = songs.get(i);
+				recordOffsets.add(position);
+				indexEntries.add(new int[]{stringId(song.title, strings, stringIds), stringId(sourceNames.get(i), strings, stringIds)});
+				writeSong(out, song, strings, stringIds);
+				position = checkSize(position + recordSize(song));
+			}
+
+			long stringsOffset = position;
+			for(String string : strings) {
+				byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+				position = checkSize(position + 4 + bytes.length);
+			}
+
+			long indexOffset = position;
+			checkSize(position + (long) INDEX_ENTRY_SIZE * indexEntries.size());
+			for(int i = 0; i < indexEntries.size(); i++) {
+				out.writeInt(indexEntries.get(i)[0]);
+				out.writeInt(indexEntries.get(i)[1]);
+				out.writeLong(recordOffsets.get(i));
+				out.writeLong(sourceSizes[i]);
+				out.writeLong(sourceModified[i]);
+				out.writeLong(sourceHashes[i]);
+			}
+			out.close();
+
+			RandomAccessFile file = new RandomAccessFile(temp, "rw");
+			try {
+				file.seek(12);
+				file.writeInt(strings.size());
+				file.writeLong(stringsOffset);
+				file.writeLong(indexOffset);
+			} finally {
+				file.close();
+			}
+			Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			out.close();
+			temp.delete();
+			throw e;
+		}
+	}
+
+	// records and tables are read with int positions from one mapped buffer
+	private static long checkSize(long size) throws IOException {
+		if(size > Integer.MAX_VALUE) {
+			throw new IOException("Song corpus is too large to be written to one file: more than " + Integer.MAX_VALUE + " bytes");
+		}
+		return size;
+	}
+
+	// the number of bytes writeSong writes for the song
+	private static long recordSize(Song song) {
+		long numEvents = song.input.size();
+		long numNotes = 0;
+		for(Event event : song.input) {
+			numNotes += event.notes.size();
+		}
+		long numSegments = song.output.size();
+		return 20 + (8 * 3 + 4 * 2) * numEvents + 4 * (numEvents + 1) + (8 * 3 + 4 + 1) * numNotes + (8 * 2 + 4 * 3) * numSegments;
+	}
+
+	private static void writeSong(DataOutputStream out, Song song, List<String> strings, Map<String, Integer> stringIds) throws IOException {
+		List<Event> events = song.input;
+		int numNotes = 0;
+		for(Event event : events) {
+			numNotes += event.notes.size();
+		}
+
+		out.writeDouble(song.length);
+		out.writeInt(events.size());
+		out.writeInt(numNotes);
+		out.writeInt(song.output.size());
+
+		// event columns
+		for(Event event : events) {
+			out.writeDouble(event.onset);
+		}
+		for(Event event : events) {
+			out.writeDouble(event.duration);
+		}
+		for(Event event : events) {
+			out.writeDouble(event.accent);
+		}
+		for(Event event : events) {
+			out.writeInt(event.measureNumber);
+		}
+		for(int i = 0; i < events.size(); i++) {
+			out.writeInt(stringId(song.getTagForm(i), strings, stringIds));
+		}
+		int noteStart = 0;
+		for(Event event : events) {
+			out.writeInt(noteStart);
+			noteStart += event.notes.size();
+		}
+		out.writeInt(noteStart);
+
+		// note columns
+		for(Event event : events) {
+			for(Note note : event.notes) {
+				out.writeDouble(note.onset);
+			}
+		}
+		for(Event event : events) {
+			for(Note note : event.notes) {
+				out.writeDouble(note.duration);
+			}
+		}
+		for(Event event : events) {
+			for(Note note : event.notes) {
+				out.writeDouble(note.accent);
+			}
+		}
+		for(Event event : events) {
+			for(Note note : event.notes) {
+				out.writeInt(stringId(note.pitch, strings, stringIds));
+			}
+		}
+		for(Event event : events) {
+			for(Note note : event.notes) {
+				out.writeByte(note.fromPrevious ? 1 : 0);
+			}
+		}
+
+		// segment columns
+		for(Span span : song.output) {
+			out.writeDouble(span.onset);
+		}
+		for(Span span : song.output) {
+			out.writeDouble(span.offset);
+		}
+		for(Span span : song.output) {
+			out.writeInt(span.start);
+		}
+		for(Span span : song.output) {
+			out.writeInt(span.stop);
+		}
+		for(int i = 0; i < song.output.size(); i++) {
+			out.writeInt(stringId(song.getChordLabelForm(i), strings, stringIds));
+		}
+	}
+
+	private static int stringId(String string, List<String> strings, Map<String, Integer> stringIds) {
+		Integer id = stringIds.get(string);
+		if(id == null) {
+			id = strings.size();
+			strings.add(string);
+			stringIds.put(string, id);
+		}
+		return id;
+	}
+
+	private static String sourcePath(String songFile) {
+		return new File(songFile).toPath().toAbsolutePath().normalize().toString();
+	}
+
+	public static void main(String[] args) throws IOException {
+		if(args.length < 2) {
+			System.err.println("Usage: java cr.SongCorpus <output file> <fold file or .xml file>...");
+			System.exit(1);
+		}
+
+		// the folds overlap (a song is in the training set of every fold but its own), so the same path is packed once
+		Set<String> songFiles = new LinkedHashSet<String>();
+		for(int i = 1; i < args.length; i++) {
+			if(args[i].endsWith(".xml")) {
+				songFiles.add(sourcePath(args[i]));
+			}
+			else {
+				BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(args[i]), "UTF-8"));
+				String line;
+				while((line = br.readLine()) != null) {
+					if(!line.trim().isEmpty()) {
+						songFiles.add(sourcePath(line.trim()));
+					}
+				}
+				br.close();
+			}
+		}
+
+		write(new ArrayList<String>(songFiles), args[0]);
+		System.out.println("Wrote " + songFiles.size() + " songs to " + args[0]);
+	}
+}
@@ -16,6 +16,9 @@ public class SongNetwork extends TableLookupNetwork {
 	
 	private static final long serialVersionUID = -8384557055081197941L;
 	public int numNodes = -1;
+	public LatticeLayout layout;	// if set, the nodes are those of the full lattice and are decoded by it
+	public transient LatticeFile lattice;	// if set, the nodes and children are read from this mapped lattice
+	public transient WordWeakSemiCRFNetworkCompiler.Bucket bucket;	// if set, the cached lattice the nodes and children belong to
 
 	public SongNetwork() {}
 
@@ -27,6 +30,16 @@ public class SongNetwork extends TableLookupNetwork {
 		super(networkId, inst, nodes, children, param);
 		this.numNodes = numNodes;
 	}
+
+	public SongNetwork(int networkId, Instance inst, long[] nodes, int[][][] children, LocalNetworkParam param, LatticeLayout layout, int numNodes) {
+		this(networkId, inst, nodes, children, param, numNodes);
+		this.layout = layout;
+	}
+
+	public SongNetwork(int networkId, Instance inst, LatticeFile lattice, LocalNetworkParam param, LatticeLayout layout, int numNodes) {
+		this(networkId, inst, null, null, param, layout, numNodes);
+		this.lattice = lattice;
+	}
 	
 	public int countNodes(){
 		if(numNodes < 0){
@@ -35,6 +48,27 @@ public class SongNetwork extends TableLookupNetwork {
 		return numNodes;
 	}
 	
+	public long getNode(int k){
+		if(lattice == null){
+			return super.getNode(k);
+		}
+		return lattice.getNode(k);
+	}
+	
+	public int[][] getChildren(int k){
+		if(lattice == null){
+			return super.getChildren(k);
+		}
+		return lattice.getChildren(k);
+	}
+	
+	public int[] getNodeArray(int k){
+		if(layout == null){
+			return super.getNodeArray(k);
+		}
+		return layout.getNodeArray(k);
+	}
+	
 	public void remove(int k){}
 	
 	public boolean isRemoved(int k){
@@ -1,10 +1,14 @@
 package cr;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PrintStream;
 import java.io.UnsupportedEncodingException;
@@ -14,10 +18,22 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import com.statnlp.hybridnetworks.GlobalNetworkParam;
+import com.statnlp.hybridnetworks.NetworkConfig;
 
 import cr.CRMain.Simplify;
 import nu.xom.Builder;
@@ -27,6 +43,20 @@ import nu.xom.Elements;
 import nu.xom.ParsingException;
 
 public class SongUtil {
+	public static boolean streamXML = false;		// parse songs in one pass with StAX instead of building a XOM document per song
+	public static boolean parallelLoad = false;		// parse the songs of a fold file on NetworkConfig._numThreads threads
+	public static String corpusPath = null;			// packed corpus (see SongCorpus) to read songs from instead of their XML files
+	private static SongCorpus corpus = null;
+	public static boolean musicXML = false;			// song files are MusicXML scores (see MusicXMLReader), whatever their extension
+	public static String songArchivePath = null;	// archive of song files (see SongArchive) to read songs from before the file system
+	private static SongArchive songArchive = null;
+	public static String songCacheDir = null;		// directory of parsed songs shared between runs (see SongCache)
+	private static SongCache songCache = null;
+	
+	// XOM builders and StAX factories are not thread-safe, so each loader thread gets its own
+	private static final ThreadLocal<Builder> xomBuilders = ThreadLocal.withInitial(Builder::new);
+	private static final ThreadLocal<XMLInputFactory> xmlInputFactories = ThreadLocal.withInitial(XMLInputFactory::newInstance);
+	
 	public static List<String> enharmonicIDToMajChord = new ArrayList<>(Arrays.asList("A", "Bb", "B", "C", "Db", "D", "Eb", "E", "F", "Gb", "G", "Ab"));
 	public static List<String> enharmonicIDToMinOrDimChord = new ArrayList<>(Arrays.asList("A", "Bb", "B", "C", "C#", "D", "D#", "E", "F", "F#", "G", "G#"));
 	public static List<String> enharmonicIDToAug6Chord = new ArrayList<>(Arrays.asList("A", "Bb", "B", "C", "Db", "D", "Eb", "E", "F", "Gb", "G", "Ab"));
@@ -89,6 +119,7 @@ public class SongUtil {
 		}
 		
 		br.close();
+		ChordTemplate.update();
 		
 		return;
 	}
@@ -111,20 +142,22 @@ public class SongUtil {
 		File directory = new File("./");
 		System.out.println(directory.getAbsolutePath());
 		
+		// each worker parses whole songs; labels are interned below in file order
+		int numThreads = parallelLoad ? Math.max(1, NetworkConfig._numThreads) : 1;
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		
 		try {
-			Builder parser = new Builder();
-			
-			// begin instance id at 1
-			int instanceId = 1;
-			
+			List<Future<Song>> parsedSongs = new ArrayList<Future<Song>>();
 			for(int i = 0; i < songFiles.size(); i++) {
-				Document doc = parser.build(songFiles.get(i));
-				
-				// for one song---fix to iterate over multiple songs
-				Element root = doc.getRootElement();
+				// begin instance id at 1
+				final int instanceId = i + 1;
+				final String songFilename = songFiles.get(i);
+				parsedSongs.add(pool.submit(() -> readSong(songFilename, instanceId, simplification, normalizeEnharmonics)));
+			}
 			
-				// read in a song instance
-				Song song = Song.parseXML(root, instanceId, simplification, normalizeEnharmonics);
+			for(Future<Song> parsedSong : parsedSongs) {
+				Song song = getParsedSong(parsedSong);
+				song.internLabels();
 				
 				// if true, guarantees that this song instance will be considered
 				// during training (see Instance.java)
@@ -142,23 +175,245 @@ public class SongUtil {
 				
 				// add song instance to result
 				result.add(song);
-				instanceId += 1;
 			}
 		} catch (ParsingException e) {
 			System.err.println("Cafe con Leche is malformed today. How embarrassing!");
+		} catch (XMLStreamException e) {
+			System.err.println("Malformed song file: " + e.getMessage());
 		} catch (IOException ex) {
 			System.err.println("Could not connect to Cafe con Leche. The site may be down.");
+		} finally {
+			pool.shutdownNow();
 		}
 		
 		return result.toArray(new Song[result.size()]);
 	}
 	
+	static Song readSong(String songFilename, int instanceId, Simplify simplification, boolean normalizeEnharmonics) throws IOException, ParsingException, XMLStreamException {
+		SongCorpus corpus = getCorpus();
+		if(corpus != null) {
+			// songs missing from the corpus, or changed since it was packed, fall back to their XML file
+			int index = corpus.indexOfFile(songFilename);
+			if(index >= 0) {
+				if(corpus.isCurrent(index, songFilename)) {
+					return corpus.getSong(index, instanceId, simplification, normalizeEnharmonics);
+				}
+				System.err.println(songFilename + " is not the file packed into " + corpusPath + ", reading the file instead");
+			}
+		}
+		
+		// archive member or file, as stored (possibly gzip-compressed)
+		InputStream in = openSongFile(songFilename);
+		
+		String reader = (musicXML || MusicXMLReader.isMusicXML(songFilename)) ? "musicxml" : (streamXML ? "stax" : "xom");
+		SongCache songCache = getSongCache();
+		String cacheKey = null;
+		if(songCache != null) {
+			// cache entries are keyed by the whole file, so it is read before it is parsed
+			byte[] content;
+			try {
+				content = readAll(in);
+			} finally {
+				in.close();
+			}
+			cacheKey = songCache.key(content, reader, simplification, normalizeEnharmonics);
+			Song song = songCache.get(cacheKey, instanceId);
+			if(song != null) {
+				return song;
+			}
+			in = new ByteArrayInputStream(content);
+		}
+		
+		Song song;
+		in = new BufferedInputStream(in);
+		try {
+			if(isGzipped(in)) {
+				in = new GZIPInputStream(in);
+			}
+			if(reader.equals("musicxml")) {
+				song = MusicXMLReader.read(in, songFilename, instanceId, simplification, normalizeEnharmonics);
+			}
+			else if(reader.equals("stax")) {
+				// read in a song instance straight from the event stream
+				song = readSongStreaming(xmlInputFactories.get(), in, instanceId, simplification, normalizeEnharmonics);
+			}
+			else {
+				Document doc = xomBuilders.get().build(in);
+				
+				// for one song---fix to iterate over multiple songs
+				Element root = doc.getRootElement();
+				
+				// read in a song instance
+				song = Song.parseXML(root, instanceId, simplification, normalizeEnharmonics);
+			}
+		} finally {
+			in.close();
+		}
+		
+		if(cacheKey != null) {
+			songCache.put(cacheKey, songFilename, song);
+		}
+		return song;
+	}
+	
+	private static InputStream openSongFile(String songFilename) throws IOException {
+		SongArchive songArchive = getSongArchive();
+		if(songArchive != null) {
+			// songs missing from the archive fall back to their file
+			InputStream member = songArchive.getMember(songFilename);
+			if(member != null) {
+				return member;
+			}
+		}
+		return new FileInputStream(songFilename);
+	}
+	
+	private static byte[] readAll(InputStream in) throws IOException {
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int read;
+		while((read = in.read(buffer)) >= 0) {
+			content.write(buffer, 0, read);
+		}
+		return content.toByteArray();
+	}
+	
+	// gzip streams start with 0x1f 0x8b, XML never does
+	static boolean isGzipped(byte[] content) {
+		return content.length > 1 && content[0] == (byte) 0x1f && content[1] == (byte) 0x8b;
+	}
+	
+	// same test on the first two bytes of a stream, which are left to be read
+	private static boolean isGzipped(InputStream in) throws IOException {
+		in.mark(2);
+		byte[] magic = new byte[2];
+		int read = 0;
+		while(read < 2) {
+			int count = in.read(magic, read, 2 - read);
+			if(count < 0) {
+				break;
+			}
+			read += count;
+		}
+		in.reset();
+		return read == 2 && isGzipped(magic);
+	}
+	
+	// the training and test folds share one mapping of the corpus file
+	private static synchronized SongCorpus getCorpus() throws IOException {
+		if(corpusPath != null && corpus == null) {
+			corpus = SongCorpus.open(corpusPath);
+		}
+		return corpus;
+	}
+	
+	private static synchronized SongArchive getSongArchive() throws IOException {
+		if(songArchivePath != null && songArchive == null) {
+			songArchive = SongArchive.open(songArchivePath);
+		}
+		return songArchive;
+	}
+	
+	// the cache only saves parsing, so songs are read without it if its directory cannot be created;
+	// unsetting songCacheDir turns the cache off again
+	private static synchronized SongCache getSongCache() {
+		if(songCacheDir == null) {
+			return null;
+		}
+		if(songCache == null) {
+			try {
+				songCache = new SongCache(songCacheDir);
+			} catch (IOException e) {
+				System.err.println(e.getMessage() + ", songs are parsed without the song cache");
+				songCacheDir = null;
+			}
+		}
+		return songCache;
+	}
+	
+	private static Song getParsedSong(Future<Song> parsedSong) throws IOException, ParsingException, XMLStreamException {
+		try {
+			return parsedSong.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while reading songs", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if(cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			else if(cause instanceof ParsingException) {
+				throw (ParsingException) cause;
+			}
+			else if(cause instanceof XMLStreamException) {
+				throw (XMLStreamException) cause;
+			}
+			throw new RuntimeException(cause);
+		}
+	}
+	
+	private static Song readSongStreaming(XMLInputFactory factory, InputStream in, int instanceId, Simplify simplification, boolean normalizeEnharmonics) throws IOException, XMLStreamException {
+		XMLStreamReader reader = factory.createXMLStreamReader(in);
+		try {
+			// move to the <song> root element
+			reader.nextTag();
+			return Song.parseXML(reader, instanceId, simplification, normalizeEnharmonics);
+		} finally {
+			reader.close();
+		}
+	}
+	
+	/**
+	 * Skip the element the reader is positioned on, leaving the reader on its end tag
+	 */
+	public static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+		int depth = 1;
+		while(depth > 0) {
+			int eventType = reader.next();
+			if(eventType == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			}
+			else if(eventType == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			}
+		}
+	}
+	
+	// labels are simplified and normalized once per load for every event and segment, so the patterns
+	// are compiled once and the results are cached per (Simplify, normalizeEnharmonics) option pair
+	private static final Pattern MODES_PATTERN = Pattern.compile("([BI]-)?[A-G][#b]?:(maj|min|dim|aug)");											// only match chord modes
+	private static final Pattern GENERIC_ADDED_NOTES_PATTERN = Pattern.compile("([BI]-)?[A-G][#b]?:(maj|min|dim|aug|ger|it|fr)(4|6|7)?");				// match added notes
+	private static final Pattern GENERIC_ADDED_NOTES_PLUS_SUS_AND_POW_PATTERN = Pattern.compile("([BI]-)?[A-G][#b]?:(maj|7sus|dim|min|sus)(2|4|6|7)?(\\(\\*3\\))?");	// match added notes
+	private static final Pattern ADDED_NOTES_PATTERN = Pattern.compile("([BI]-)?[A-G][#b]?:(7|minmaj|maj|min|dim|hdim|aug)(4|6|7)?");				// match added notes and chord modes
+	private static final Pattern MODE_PATTERN = Pattern.compile("(7sus4|sus4|sus2|maj\\(\\*3\\)|maj|min|dim|aug|ger|it|fr)");
+	private static final Pattern ROOT_PATTERN = Pattern.compile("[A-G][#b]?");
+	private static final Pattern CHORD_PATTERN = Pattern.compile("([BI]-)?(.*)(:(7sus|maj|min|dim|aug|ger|fr|it|sus)(2|4|6|7)?(\\(\\*3\\))?)");
+	private static final List<ConcurrentHashMap<String, String>> normalizedLabels = new ArrayList<ConcurrentHashMap<String, String>>();
+	static {
+		for(int i = 0; i < Simplify.values().length * 2; i++) {
+			normalizedLabels.add(new ConcurrentHashMap<String, String>());
+		}
+	}
+	
+	/**
+	 * Same as normalizeEnharmonicChords(simplifyLabel(label, simplification), normalizeEnharmonics),
+	 * but each distinct label is only worked out once.<br>
+	 * Returns the label form rather than a WordLabel/SpanLabel, so loader threads never assign label ids.
+	 */
+	public static String normalizeLabel(String label, Simplify simplification, boolean normalizeEnharmonics) throws IOException {
+		ConcurrentHashMap<String, String> cache = normalizedLabels.get(simplification.ordinal() * 2 + (normalizeEnharmonics ? 1 : 0));
+		String normalized = cache.get(label);
+		if(normalized == null) {
+			normalized = normalizeEnharmonicChords(simplifyLabel(label, simplification), normalizeEnharmonics);
+			cache.putIfAbsent(label, normalized);
+		}
+		return normalized;
+	}
+	
 	public static String simplifyLabel(String label, Simplify simplification) {
 		switch(simplification) {
 		case MODES:
-			String pattern = "([BI]-)?[A-G][#b]?:(maj|min|dim|aug)";	// only match chord modes
-			Pattern r = Pattern.compile(pattern);						// create pattern object
-			Matcher m = r.matcher(label);								// simplify label
+			Matcher m = MODES_PATTERN.matcher(label);					// simplify label
 			if(m.find()) {
 				return m.group(0);
 			}
@@ -166,9 +421,7 @@ public class SongUtil {
 				return label;
 			}
 		case GENERIC_ADDED_NOTES:
-			pattern = "([BI]-)?[A-G][#b]?:(maj|min|dim|aug|ger|it|fr)(4|6|7)?";				// match added notes
-			r = Pattern.compile(pattern);													// create pattern object
-			m = r.matcher(label);															// simplify label
+			m = GENERIC_ADDED_NOTES_PATTERN.matcher(label);									// simplify label
 			if(m.find()) {
 				return m.group(0);
 			}
@@ -176,9 +429,7 @@ public class SongUtil {
 				return label;
 			}
 		case GENERIC_ADDED_NOTES_PLUS_SUS_AND_POW:
-			pattern = "([BI]-)?[A-G][#b]?:(maj|7sus|dim|min|sus)(2|4|6|7)?(\\(\\*3\\))?";				// match added notes
-			r = Pattern.compile(pattern);													// create pattern object
-			m = r.matcher(label);															// simplify label
+			m = GENERIC_ADDED_NOTES_PLUS_SUS_AND_POW_PATTERN.matcher(label);				// simplify label
 			if(m.find()) {
 				return m.group(0);
 			}
@@ -186,10 +437,7 @@ public class SongUtil {
 				return label;
 			}
 		case ADDED_NOTES:
-			pattern = "([BI]-)?[A-G][#b]?:(7|minmaj|maj|min|dim|hdim|aug)(4|6|7)?";	// match added notes and
-																					// chord modes
-			r = Pattern.compile(pattern);											// create pattern object
-			m = r.matcher(label);													// simplify label
+			m = ADDED_NOTES_PATTERN.matcher(label);									// simplify label
 			if(m.find()) {
 				return m.group(0);
 			}
@@ -204,9 +452,7 @@ public class SongUtil {
 	}
 	
 	public static String getMode(String parentLabel) {
-		String pattern = "(7sus4|sus4|sus2|maj\\(\\*3\\)|maj|min|dim|aug|ger|it|fr)";
-		Pattern r = Pattern.compile(pattern);
-		Matcher m = r.matcher(parentLabel);
+		Matcher m = MODE_PATTERN.matcher(parentLabel);
 		String mode = m.find() ? m.group(0) : "";
 //		System.out.println("Mode: " + mode);	
 		return mode;
@@ -214,9 +460,7 @@ public class SongUtil {
 	
 	public static String getRoot(String parentLabel) {
 		// get root note
-		String pattern = "[A-G][#b]?";
-		Pattern r = Pattern.compile(pattern);
-		Matcher m = r.matcher(parentLabel);
+		Matcher m = ROOT_PATTERN.matcher(parentLabel);
 		String root = m.find() ? m.group(0) : "";
 		
 		return root;
@@ -230,9 +474,7 @@ public class SongUtil {
 		String prefix = new String();
 		String root = new String();
 		String suffix = new String();
-		String pattern = "([BI]-)?(.*)(:(7sus|maj|min|dim|aug|ger|fr|it|sus)(2|4|6|7)?(\\(\\*3\\))?)";
-		Pattern r = Pattern.compile(pattern);
-		Matcher m = r.matcher(label);
+		Matcher m = CHORD_PATTERN.matcher(label);
 		
 		if(m.find()) {
 			prefix = m.group(1);
@@ -2,10 +2,14 @@ package cr;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import cr.CRMain.Simplify;
-import static cr.SongUtil.simplifyLabel;
-import static cr.SongUtil.normalizeEnharmonicChords;
+import static cr.SongUtil.normalizeLabel;
 import nu.xom.Element;
 
 public class Span implements Comparable<Span>, Serializable{
@@ -29,10 +33,11 @@ public class Span implements Comparable<Span>, Serializable{
 		this.label = label;
 	}
 	
-	public static Span parseXML(Element element, Simplify simplification, boolean normalizeEnharmonics) throws IOException {
+	// the normalized chord label is appended to labelForms; span.label is set by Song.internLabels()
+	public static Span parseXML(Element element, Simplify simplification, boolean normalizeEnharmonics, List<String> labelForms) throws IOException {
 		Span span = new Span();
 		
-		span.label = SpanLabel.get(normalizeEnharmonicChords(simplifyLabel(element.getFirstChildElement("chordLabel").getValue().trim(), simplification), normalizeEnharmonics));	
+		labelForms.add(normalizeLabel(element.getFirstChildElement("chordLabel").getValue().trim(), simplification, normalizeEnharmonics));	
 		span.onset = Double.parseDouble(element.getFirstChildElement("onset").getValue());
 		span.offset = Double.parseDouble(element.getFirstChildElement("offset").getValue());
 		span.start = Integer.parseInt(element.getFirstChildElement("eventStart").getValue());
@@ -43,6 +48,35 @@ public class Span implements Comparable<Span>, Serializable{
 		return span;
 	}
 	
+	public static Span parseXML(XMLStreamReader reader, Simplify simplification, boolean normalizeEnharmonics, List<String> labelForms) throws IOException, XMLStreamException {
+		Span span = new Span();
+		
+		// reader starts on <segment> and finishes on </segment>
+		while(reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			switch(reader.getLocalName()) {
+			case "chordLabel":
+				labelForms.add(normalizeLabel(reader.getElementText().trim(), simplification, normalizeEnharmonics));
+				break;
+			case "onset":
+				span.onset = Double.parseDouble(reader.getElementText());
+				break;
+			case "offset":
+				span.offset = Double.parseDouble(reader.getElementText());
+				break;
+			case "eventStart":
+				span.start = Integer.parseInt(reader.getElementText());
+				break;
+			case "eventStop":
+				span.stop = Integer.parseInt(reader.getElementText());
+				break;
+			default:
+				SongUtil.skipElement(reader);
+			}
+		}
+		
+		return span;
+	}
+	
 	public boolean equals(Object o){
 		if(o instanceof Span){
 			Span s = (Span)o;
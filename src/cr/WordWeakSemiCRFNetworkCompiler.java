@@ -1,8 +1,15 @@
 package cr;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.statnlp.commons.types.Instance;
 import com.statnlp.hybridnetworks.LocalNetworkParam;
@@ -25,27 +32,211 @@ public class WordWeakSemiCRFNetworkCompiler extends NetworkCompiler {
 	public SpanLabel[] labels;
 	public int maxLength = 20;
 	public int maxSegmentLength = 1;
+	public int[] labelMaxSegmentLengths;	// maximum segment length of each label (same order as labels), or null to use maxSegmentLength for all
+	public BoundaryModel boundaryModel;		// if set, segments only start at the events it flags (see BoundaryModel)
 	public transient long[] allNodes;
 	public transient int[][][] allChildren;
 	
+	// if positive, unlabeled networks are cut from lattices built for the song length rounded up to a multiple
+	// of this, instead of from one lattice of maxLength; a bucket is kept for the next songs of that length
+	// until the memory is needed
+	public static int latticeBucketSize = 0;
+	// if true, unlabeled networks compute their nodes and children on demand (see ImplicitSongNetwork) and no lattice is built
+	public static boolean implicitLattice = false;
+	// if positive, each song gets its own lattice with only these many labels per segment (see CandidateLabels)
+	public static int numCandidateLabels = 0;
+	public static double minCandidateScore = 0.0;
+	// if set, the full lattice is memory-mapped from this file (see LatticeFile), which is written first if it does not exist
+	public static String latticePath = null;
+	// if true, the BEGIN nodes of a position reach the END nodes of the previous event through one HUB node (see HubSongNetwork)
+	public static boolean transitionHubs = false;
+	// extracts the transition table of each HubSongNetwork, see setFeatureManager; not saved with the model
+	private transient WordWeakSemiCRFFeatureManager featureManager;
+	private transient int[] labelIndices;	// index in labels of each label ID, -1 if not there
+	private transient LatticeLayout layout;	// node indices of the full lattice
+	private transient LatticeFile latticeFile;
+	private transient boolean latticeFileChecked;
+	private transient int[] chordMasks;
+	private transient int numGoldSegments;
+	private transient int numGoldSegmentsKept;
+	private transient int numGoldBoundaries;
+	private transient int numGoldBoundariesKept;
+	private transient Map<Integer, SoftReference<Bucket>> buckets;
+	
+	// the lattice of one bucket, so its nodes and children are kept or released together; the networks
+	// cut from it hold it (see SongNetwork.bucket), so it is only released once none of them is left
+	static class Bucket {
+		final long[] nodes;
+		final int[][][] children;
+		
+		Bucket(LatticeBuilder lattice){
+			nodes = lattice.getNodes();
+			children = lattice.getChildren();
+		}
+	}
+	
 	public enum NodeType {
 		LEAF,
 		ROOT,
 		BEGIN,
 		END,
+		HUB,
 	}
 	
-	static {
-		NetworkIDMapper.setCapacity(new int[]{200, 150, 150});
-	}
-
 	public WordWeakSemiCRFNetworkCompiler(SpanLabel[] labels, int maxLength, int maxSegmentLength) {
+		this(labels, maxLength, maxSegmentLength, null);
+	}
+	
+	/**
+	 * @param labelMaxSegmentLengths maximum segment length of each label, see {@link #findLabelMaxSegmentLengths}
+	 */
+	public WordWeakSemiCRFNetworkCompiler(SpanLabel[] labels, int maxLength, int maxSegmentLength, int[] labelMaxSegmentLengths) {
+		this(labels, maxLength, maxSegmentLength, labelMaxSegmentLengths, null);
+	}
+	
+	/**
+	 * @param boundaryModel if not null, segments only start at the events it flags
+	 */
+	public WordWeakSemiCRFNetworkCompiler(SpanLabel[] labels, int maxLength, int maxSegmentLength, int[] labelMaxSegmentLengths, BoundaryModel boundaryModel) {
 		this.labels = labels;
 		this.maxLength = Math.max(maxLength, this.maxLength);
 		this.maxSegmentLength = Math.max(maxSegmentLength, this.maxSegmentLength);
+		this.labelMaxSegmentLengths = labelMaxSegmentLengths;
+		this.boundaryModel = boundaryModel;
 		System.out.println(String.format("Max size: %s, Max segment length: %s", maxLength, maxSegmentLength));
 		System.out.println(Arrays.asList(labels));
-		buildUnlabeled();
+		if(labelMaxSegmentLengths != null){
+			System.out.println("Max segment length per label: " + Arrays.toString(labelMaxSegmentLengths));
+		}
+		if(boundaryModel != null){
+			System.out.println(boundaryModel);
+		}
+		indexLabels();
+		setCapacity();
+		if(latticeBucketSize <= 0 && (!implicitLattice || transitionHubs) && numCandidateLabels <= 0 && boundaryModel == null && latticePath == null){
+			buildUnlabeled();
+		}
+	}
+	
+	/**
+	 * Sizes the node ID space ([position, node type, label]) for maxLength and the labels, so node IDs
+	 * stay dense whatever the length of the songs<br>
+	 * The capacity is global to NetworkIDMapper, so this is also done when a compiler is deserialized.
+	 */
+	private void setCapacity(){
+		int maxLabelId = SpanLabel.LABELS.size() - 1;
+		for(SpanLabel label: labels){
+			maxLabelId = Math.max(maxLabelId, label.id);
+		}
+		// positions 0 (leaf) to length+1 (root after the last event), labels shifted by one
+		int length = maxLength;
+		if(latticeBucketSize > 0){
+			length = ((maxLength + latticeBucketSize - 1) / latticeBucketSize) * latticeBucketSize;
+		}
+		int[] capacity = new int[]{length + 2, NodeType.values().length, maxLabelId + 2};
+		try {
+			Math.multiplyExact(Math.multiplyExact((long)capacity[0], capacity[1]), capacity[2]);
+		} catch (ArithmeticException e) {
+			throw new IllegalArgumentException(String.format("Node IDs for %d events and %d labels do not fit in 64 bits", maxLength, maxLabelId + 1));
+		}
+		NetworkIDMapper.setCapacity(capacity);
+	}
+	
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ois.defaultReadObject();
+		indexLabels();
+		setCapacity();
+	}
+	
+	private void indexLabels(){
+		int maxLabelId = -1;
+		for(SpanLabel label: labels){
+			maxLabelId = Math.max(maxLabelId, label.id);
+		}
+		labelIndices = new int[maxLabelId + 1];
+		Arrays.fill(labelIndices, -1);
+		for(int labelIdx=0; labelIdx<labels.length; labelIdx++){
+			labelIndices[labels[labelIdx].id] = labelIdx;
+		}
+		layout = new LatticeLayout(labels, transitionHubs);
+	}
+	
+	private int getLabelIndex(int labelId){
+		return labelId < labelIndices.length ? labelIndices[labelId] : -1;
+	}
+	
+	/**
+	 * @return the maximum segment length of the label with this index in labels
+	 */
+	private int getMaxSegmentLength(int labelIdx){
+		return labelMaxSegmentLengths == null || labelIdx < 0 ? maxSegmentLength : labelMaxSegmentLengths[labelIdx];
+	}
+	
+	private int[] getMaxSegmentLengths(){
+		int[] maxSegmentLengths = new int[labels.length];
+		for(int labelIdx=0; labelIdx<labels.length; labelIdx++){
+			maxSegmentLengths[labelIdx] = getMaxSegmentLength(labelIdx);
+		}
+		return maxSegmentLengths;
+	}
+
+	/**
+	 * Sets the feature manager the networks are trained with, which the networks need for their transition
+	 * table if transitionHubs is set
+	 */
+	public void setFeatureManager(WordWeakSemiCRFFeatureManager featureManager){
+		this.featureManager = featureManager;
+	}
+
+	private WordWeakSemiCRFFeatureManager getHubFeatureManager(){
+		if(featureManager == null){
+			throw new IllegalStateException("transitionHubs needs the feature manager, see setFeatureManager");
+		}
+		return featureManager;
+	}
+
+	/**
+	 * Finds a maximum segment length for each label from the lengths of its segments in the training songs:
+	 * the given percentile of them plus slack, at most maxSegmentLength. Labels without segments get the
+	 * percentile over all segments, plus slack.<br>
+	 * A label's limit is never below its longest training segment (up to maxSegmentLength): a longer gold
+	 * segment would be cut into back-to-back segments of the same label, which trains chord changes that
+	 * are not there.
+	 */
+	public static int[] findLabelMaxSegmentLengths(SpanLabel[] labels, List<Song> songs, int maxSegmentLength, double percentile, int slack){
+		Map<Integer, List<Integer>> lengths = new HashMap<Integer, List<Integer>>();
+		List<Integer> allLengths = new ArrayList<Integer>();
+		for(Song song: songs){
+			for(Span span: song.output){
+				if(!lengths.containsKey(span.label.id)){
+					lengths.put(span.label.id, new ArrayList<Integer>());
+				}
+				lengths.get(span.label.id).add(span.stop - span.start);
+				allLengths.add(span.stop - span.start);
+			}
+		}
+		int defaultLength = Math.min(maxSegmentLength, percentile(allLengths, percentile) + slack);
+		int[] labelMaxSegmentLengths = new int[labels.length];
+		for(int labelIdx=0; labelIdx<labels.length; labelIdx++){
+			List<Integer> labelLengths = lengths.get(labels[labelIdx].id);
+			if(labelLengths == null){
+				labelMaxSegmentLengths[labelIdx] = defaultLength;
+			} else {
+				int longest = Collections.max(labelLengths);
+				labelMaxSegmentLengths[labelIdx] = Math.min(maxSegmentLength, Math.max(longest, percentile(labelLengths, percentile) + slack));
+			}
+		}
+		return labelMaxSegmentLengths;
+	}
+	
+	// nearest-rank percentile, at least 1
+	private static int percentile(List<Integer> values, double percentile){
+		if(values.isEmpty()){
+			return 1;
+		}
+		Collections.sort(values);
+		int rank = (int)Math.ceil(percentile / 100.0 * values.size());
+		return Math.max(1, values.get(Math.min(values.size(), Math.max(1, rank)) - 1));
 	}
 
 	@Override
@@ -54,7 +245,7 @@ public class WordWeakSemiCRFNetworkCompiler extends NetworkCompiler {
 			if(inst.isLabeled()){
 				return compileLabeled(networkId, (Song)inst, param);
 			} else {
-				return compileUnlabeled(networkId, (Song)inst, param);
+				return compileUnlabeled(networkId, (Song)inst, param, true);
 			}
 		} catch (NetworkException e){
 			System.out.println(inst);
@@ -86,7 +277,7 @@ public class WordWeakSemiCRFNetworkCompiler extends NetworkCompiler {
 			WordLabel label = output.get(pos);
 			SpanLabel spanLabel = wordLabelToSpanLabel(label);
 			int labelId = spanLabel.id;
-			if(prevLabelId == -1 || label.form.startsWith("O") || label.form.startsWith("B") || pos-lastPos >= maxSegmentLength){
+			if(prevLabelId == -1 || label.form.startsWith("O") || label.form.startsWith("B") || pos-lastPos >= getMaxSegmentLength(getLabelIndex(prevLabelId))){
 				if(prevLabelId != -1){
 					long end = toNode_end(pos-1, prevLabelId);
 					network.addNode(end);
@@ -112,62 +303,303 @@ public class WordWeakSemiCRFNetworkCompiler extends NetworkCompiler {
 		
 		if(DEBUG){
 			System.out.println(network);
-			SongNetwork unlabeled = compileUnlabeled(networkId, instance, param);
-			System.out.println("Contained: "+unlabeled.contains(network));
+			// with hubs the labeled END to BEGIN edges go through a HUB node in the unlabeled network
+			if(!transitionHubs){
+				// not counted in the gold recall: the unlabeled copy of the song is compiled (and counted) on its own
+				SongNetwork unlabeled = compileUnlabeled(networkId, instance, param, false);
+				System.out.println("Contained: "+unlabeled.contains(network));
+			}
 		}
 		return network;
 	}
 	
-	private SongNetwork compileUnlabeled(int networkId, Song instance, LocalNetworkParam param){
-		if(allNodes == null){
-			buildUnlabeled();
+	/**
+	 * @param countGold whether the gold segments the pruning keeps count in {@link #getCandidateRecall()}
+	 */
+	private SongNetwork compileUnlabeled(int networkId, Song instance, LocalNetworkParam param, boolean countGold){
+		if(numCandidateLabels > 0 || boundaryModel != null){
+			return compilePruned(networkId, instance, param, countGold);
+		}
+		if(implicitLattice && !transitionHubs){
+			return new ImplicitSongNetwork(networkId, instance, labels, layout, labelMaxSegmentLengths, maxSegmentLength, param);
 		}
 		int size = instance.getInputTokenized().size();
-		long root = toNode_root(size);
-		int root_k = Arrays.binarySearch(allNodes, root);
-		int numNodes = root_k + 1;
-		return new SongNetwork(networkId, instance, allNodes, allChildren, param, numNodes);
+		// the lattice of the song is the prefix up to its root
+		int numNodes = layout.countNodes(size);
+		LatticeFile lattice = latticePath != null ? getLatticeFile() : null;
+		if(lattice != null){
+			if(transitionHubs){
+				return new HubSongNetwork(networkId, instance, lattice, param, getHubFeatureManager(), layout, numNodes);
+			}
+			return new SongNetwork(networkId, instance, lattice, param, layout, numNodes);
+		}
+		long[] nodes;
+		int[][][] children;
+		Bucket bucket = null;
+		if(latticeBucketSize > 0){
+			int length = ((size + latticeBucketSize - 1) / latticeBucketSize) * latticeBucketSize;
+			synchronized(this){
+				if(buckets == null){
+					buckets = new HashMap<Integer, SoftReference<Bucket>>();
+				}
+				// softly held here, so the bucket can only be collected once no network holds it any more
+				bucket = buckets.containsKey(length) ? buckets.get(length).get() : null;
+				if(bucket == null){
+					bucket = new Bucket(buildLattice(length));
+					buckets.put(length, new SoftReference<Bucket>(bucket));
+				}
+			}
+			nodes = bucket.nodes;
+			children = bucket.children;
+		} else {
+			if(allNodes == null){
+				buildUnlabeled();
+			}
+			nodes = allNodes;
+			children = allChildren;
+		}
+		SongNetwork network;
+		if(transitionHubs){
+			network = new HubSongNetwork(networkId, instance, nodes, children, param, getHubFeatureManager(), layout, numNodes);
+		} else {
+			network = new SongNetwork(networkId, instance, nodes, children, param, layout, numNodes);
+		}
+		network.bucket = bucket;
+		return network;
 	}
 	
-	private void buildUnlabeled(){
-		SongNetwork network = new SongNetwork();
+	/**
+	 * Builds the lattice of the song with only the candidate labels of each segment and/or only the
+	 * segment starts flagged by the boundary model. The gold segments of training songs are always kept,
+	 * so the labeled network stays inside the unlabeled one.
+	 */
+	private SongNetwork compilePruned(int networkId, Song instance, LocalNetworkParam param, boolean countGold){
+		int size = instance.getInputTokenized().size();
+		CandidateLabels candidates = null;
+		if(numCandidateLabels > 0){
+			synchronized(this){
+				if(chordMasks == null){
+					chordMasks = new int[labels.length];
+					for(int labelIdx=0; labelIdx<labels.length; labelIdx++){
+						ChordNotes notes = ChordTemplate.get(labels[labelIdx].id).notes;
+						chordMasks[labelIdx] = (notes == null) ? 0 : notes.getMask();
+					}
+				}
+			}
+			candidates = new CandidateLabels(chordMasks, instance.getColumns(), maxSegmentLength, numCandidateLabels, minCandidateScore);
+		}
+		boolean[] boundaries = null;
+		if(boundaryModel != null){
+			boundaries = boundaryModel.findBoundaries(instance.getColumns(), maxSegmentLength);
+		}
 		
+		if(instance.outputTokenized != null){
+			boolean training = instance.isLabeled() || instance.getInstanceId() < 0;
+			int numGold = 0;
+			int numGoldKept = 0;
+			int numGoldBoundaries = 0;
+			int numGoldBoundariesKept = 0;
+			for(int[] segment: goldSegments(instance)){
+				int labelIdx = getLabelIndex(segment[2]);
+				numGold++;
+				if(candidates != null && labelIdx >= 0){
+					if(candidates.isKept(segment[0], segment[1], labelIdx)){
+						numGoldKept++;
+					} else if(training){
+						candidates.keep(segment[0], segment[1], labelIdx);
+					}
+				}
+				numGoldBoundaries++;
+				if(boundaries != null){
+					if(boundaries[segment[0]]){
+						numGoldBoundariesKept++;
+					} else if(training){
+						boundaries[segment[0]] = true;
+					}
+				}
+			}
+			if(countGold){
+				synchronized(this){
+					numGoldSegments += numGold;
+					numGoldSegmentsKept += numGoldKept;
+					this.numGoldBoundaries += numGoldBoundaries;
+					this.numGoldBoundariesKept += numGoldBoundariesKept;
+				}
+			}
+		}
+		
+		SongNetwork network = buildPruned(networkId, instance, param, candidates, boundaries);
+		if(network == null){
+			// the boundaries left no complete segmentation: fall back to every event
+			network = buildPruned(networkId, instance, param, candidates, null);
+		}
+		return network;
+	}
+	
+	/**
+	 * @return the lattice, or null if no path reaches the root
+	 */
+	private SongNetwork buildPruned(int networkId, Song instance, LocalNetworkParam param, CandidateLabels candidates, boolean[] boundaries){
+		int size = instance.getInputTokenized().size();
+		SongNetwork network = transitionHubs ? new HubSongNetwork(networkId, instance, param, getHubFeatureManager()) : new SongNetwork(networkId, instance, param);
 		long leaf = toNode_leaf();
 		network.addNode(leaf);
+		boolean[][] hasBegin = new boolean[size][labels.length];
+		List<Long> prevEndNodes = new ArrayList<Long>();
 		List<Long> prevNodes = new ArrayList<Long>();
 		List<Long> currNodes = new ArrayList<Long>();
 		prevNodes.add(leaf);
-		for(int pos=0; pos<maxLength; pos++){
+		for(int pos=0; pos<size; pos++){
+			// begin nodes only follow a complete segmentation of the previous events
+			for(int labelIdx=0; labelIdx<labels.length && !prevNodes.isEmpty(); labelIdx++){
+				for(int end=pos; end<size && end<pos+getMaxSegmentLength(labelIdx); end++){
+					if(isCandidate(pos, end, labelIdx, size, candidates, boundaries)){
+						long beginNode = toNode_begin(pos, labels[labelIdx].id);
+						network.addNode(beginNode);
+						hasBegin[pos][labelIdx] = true;
+						for(long prevNode: prevNodes){
+							network.addEdge(beginNode, new long[]{prevNode});
+						}
+						break;
+					}
+				}
+			}
 			for(int labelIdx=0; labelIdx<labels.length; labelIdx++){
 				int labelId = labels[labelIdx].id;
-				long beginNode = toNode_begin(pos, labelId);
-				long endNode = toNode_end(pos, labelId);
-				
-				network.addNode(beginNode);
-				network.addNode(endNode);
-				
-				currNodes.add(endNode);
-				
-				for(int prevPos=pos; prevPos > pos-maxSegmentLength && prevPos >= 0; prevPos--){
-					long prevBeginNode = toNode_begin(prevPos, labelId);
-					network.addEdge(endNode, new long[]{prevBeginNode});
-				}
-				
-				for(long prevNode: prevNodes){
-					network.addEdge(beginNode, new long[]{prevNode});
+				long endNode = -1;
+				for(int prevPos=pos; prevPos > pos-getMaxSegmentLength(labelIdx) && prevPos >= 0; prevPos--){
+					if(hasBegin[prevPos][labelIdx] && isCandidate(prevPos, pos, labelIdx, size, candidates, boundaries)){
+						if(endNode < 0){
+							endNode = toNode_end(pos, labelId);
+							network.addNode(endNode);
+							currNodes.add(endNode);
+						}
+						network.addEdge(endNode, new long[]{toNode_begin(prevPos, labelId)});
+					}
 				}
 			}
-			long root = toNode_root(pos+1);
-			network.addNode(root);
-			for(long currNode: currNodes){
-				network.addEdge(root, new long[]{currNode});	
-			}
-			prevNodes = currNodes;
+			prevEndNodes = currNodes;
+			prevNodes = transitionNodes(network, pos, currNodes);
 			currNodes = new ArrayList<Long>();
 		}
+		if(prevEndNodes.isEmpty()){
+			return null;
+		}
+		long root = toNode_root(size);
+		network.addNode(root);
+		for(long prevNode: prevEndNodes){
+			network.addEdge(root, new long[]{prevNode});
+		}
 		network.finalizeNetwork();
-		allNodes = network.getAllNodes();
-		allChildren = network.getAllChildren();
+		return network;
+	}
+	
+	private boolean isCandidate(int start, int end, int labelIdx, int size, CandidateLabels candidates, boolean[] boundaries){
+		if(candidates != null && !candidates.isKept(start, end, labelIdx)){
+			return false;
+		}
+		return boundaries == null || (boundaries[start] && (end == size-1 || boundaries[end+1]));
+	}
+	
+	/**
+	 * @return start, end and label ID of each gold segment, split as in compileLabeled
+	 */
+	private List<int[]> goldSegments(Song instance){
+		List<int[]> segments = new ArrayList<int[]>();
+		List<WordLabel> output = instance.getOutputTokenized();
+		int[] segment = null;
+		for(int pos=0; pos<output.size(); pos++){
+			WordLabel label = output.get(pos);
+			if(segment == null || label.form.startsWith("O") || label.form.startsWith("B") || pos-segment[0] >= getMaxSegmentLength(getLabelIndex(segment[2]))){
+				segment = new int[]{pos, pos, wordLabelToSpanLabel(label).id};
+				segments.add(segment);
+			}
+			segment[1] = pos;
+		}
+		return segments;
+	}
+	
+	/**
+	 * @return the share of gold segments whose label and start were candidates since the last call, or null if nothing is pruned
+	 */
+	public synchronized String getCandidateRecall(){
+		List<String> recall = new ArrayList<String>();
+		if(numCandidateLabels > 0){
+			recall.add(String.format("Candidate label recall: %d/%d gold segments (%.2f%%)", numGoldSegmentsKept, numGoldSegments, 100.0*numGoldSegmentsKept/Math.max(numGoldSegments, 1)));
+		}
+		if(boundaryModel != null){
+			recall.add(String.format("Candidate boundary recall: %d/%d gold segment starts (%.2f%%)", numGoldBoundariesKept, numGoldBoundaries, 100.0*numGoldBoundariesKept/Math.max(numGoldBoundaries, 1)));
+		}
+		numGoldSegments = 0;
+		numGoldSegmentsKept = 0;
+		numGoldBoundaries = 0;
+		numGoldBoundariesKept = 0;
+		return recall.isEmpty() ? null : String.join(", ", recall);
+	}
+	
+	/**
+	 * Maps the lattice file, writing it first if it does not exist yet<br>
+	 * If the file holds a lattice built for other settings, it is left alone and the lattice is built in memory.
+	 * @return the mapped lattice, or null to build the lattice in memory
+	 */
+	private synchronized LatticeFile getLatticeFile(){
+		if(latticeFileChecked){
+			return latticeFile;
+		}
+		latticeFileChecked = true;
+		int length = maxLength;
+		if(latticeBucketSize > 0){
+			length = ((maxLength + latticeBucketSize - 1) / latticeBucketSize) * latticeBucketSize;
+		}
+		int[] maxSegmentLengths = getMaxSegmentLengths();
+		try {
+			if(!new File(latticePath).exists()){
+				LatticeBuilder lattice = buildLattice(length);
+				LatticeFile.write(lattice.getNodes(), lattice.getChildren(), length, maxSegmentLength, labels, maxSegmentLengths,
+						transitionHubs, NetworkIDMapper.getCapacity(), latticePath);
+			}
+			LatticeFile lattice = LatticeFile.open(latticePath);
+			if(lattice.isFor(length, maxSegmentLength, labels, maxSegmentLengths, transitionHubs, NetworkIDMapper.getCapacity())){
+				latticeFile = lattice;
+			} else {
+				System.err.println("The lattice in "+latticePath+" was built for other settings, building the lattice in memory");
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		return latticeFile;
+	}
+	
+	/**
+	 * Builds the lattice of every segmentation and labeling of a song with the given number of events;
+	 * since node IDs sort by position, the lattice of a shorter song is a prefix of it
+	 */
+	private LatticeBuilder buildLattice(int length){
+		return new LatticeBuilder(labels, getMaxSegmentLengths(), layout, length);
+	}
+	
+	private void buildUnlabeled(){
+		LatticeBuilder lattice = buildLattice(maxLength);
+		allNodes = lattice.getNodes();
+		allChildren = lattice.getChildren();
+	}
+	
+	/**
+	 * @return the children of the BEGIN nodes after the END nodes of pos: those END nodes, or with
+	 * transitionHubs a new HUB node over them
+	 */
+	private List<Long> transitionNodes(SongNetwork network, int pos, List<Long> endNodes){
+		if(!transitionHubs || endNodes.isEmpty()){
+			return endNodes;
+		}
+		long hub = toNode_hub(pos);
+		network.addNode(hub);
+		for(long endNode: endNodes){
+			network.addEdge(hub, new long[]{endNode});
+		}
+		List<Long> hubs = new ArrayList<Long>();
+		hubs.add(hub);
+		return hubs;
 	}
 	
 	private long toNode_leaf(){
@@ -178,6 +610,10 @@ public class WordWeakSemiCRFNetworkCompiler extends NetworkCompiler {
 		return toNode(pos+1, 0, NodeType.ROOT);
 	}
 	
+	private long toNode_hub(int pos){
+		return toNode(pos+1, 0, NodeType.HUB);
+	}
+	
 	private long toNode_begin(int pos, int labelId){
 		return toNode(pos+1, labelId+1, NodeType.BEGIN);
 	}